@@ -0,0 +1,110 @@
+package com.kyron.automation.backend.service.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Popula o H2 direto via JDBC em lote (o caminho JPA levaria minutos para 1M de produtos).
+// Dados determinísticos: a mesma semente gera o mesmo catálogo em todos os forks.
+public class CatalogSeeder {
+    public static final int CATEGORIES = 50;
+    public static final int TAGS = 200;
+    public static final int TAGS_PER_PRODUCT = 3;
+    public static final int IMAGES_PER_PRODUCT = 2;
+    public static final int MAX_REVIEWS_PER_PRODUCT = 4;
+
+    static final String[] ADJECTIVES = {"ultra", "compact", "classic", "smart", "rugged", "premium", "eco", "pro", "mini", "deluxe"};
+    static final String[] MATERIALS = {"steel", "wooden", "carbon", "leather", "glass", "ceramic", "cotton", "bamboo"};
+    static final String[] NOUNS = {"widget", "lamp", "backpack", "kettle", "speaker", "chair", "bottle", "keyboard", "jacket", "watch"};
+    private static final String[] COLORS = {"red", "blue", "black", "white", "green"};
+
+    private static final int BATCH = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    public CatalogSeeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void seed(int catalogSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int c = 1; c <= CATEGORIES; c++) {
+            rows.add(new Object[] {c, "Category " + c, true});
+        }
+        jdbc.batchUpdate("INSERT INTO categories (id, name, active) VALUES (?, ?, ?)", rows);
+        rows.clear();
+        for (int t = 1; t <= TAGS; t++) {
+            rows.add(new Object[] {t, "tag" + t});
+        }
+        jdbc.batchUpdate("INSERT INTO tags (id, name) VALUES (?, ?)", rows);
+
+        List<Object[]> products = new ArrayList<>(BATCH);
+        List<Object[]> tags = new ArrayList<>(BATCH * TAGS_PER_PRODUCT);
+        List<Object[]> images = new ArrayList<>(BATCH * IMAGES_PER_PRODUCT);
+        List<Object[]> specifications = new ArrayList<>(BATCH * 3);
+        List<Object[]> reviews = new ArrayList<>(BATCH * MAX_REVIEWS_PER_PRODUCT);
+        long reviewId = 1;
+        for (long id = 1; id <= catalogSize; id++) {
+            products.add(new Object[] {
+                    id,
+                    productName(id),
+                    "Description for product " + id + " made of " + pick(MATERIALS),
+                    BigDecimal.valueOf(100 + random.nextInt(99_900), 2),
+                    random.nextInt(500),
+                    now,
+                    true,
+                    1 + random.nextInt(CATEGORIES)});
+            int firstTag = random.nextInt(TAGS);
+            for (int t = 0; t < TAGS_PER_PRODUCT; t++) {
+                tags.add(new Object[] {id, 1 + (firstTag + t * 67) % TAGS});
+            }
+            for (int i = 0; i < IMAGES_PER_PRODUCT; i++) {
+                images.add(new Object[] {id, i, "https://cdn.example.com/products/" + id + "/" + i + ".jpg"});
+            }
+            specifications.add(new Object[] {id, "color", pick(COLORS)});
+            specifications.add(new Object[] {id, "material", pick(MATERIALS)});
+            specifications.add(new Object[] {id, "weight", random.nextInt(5000) + "g"});
+            int reviewCount = random.nextInt(MAX_REVIEWS_PER_PRODUCT + 1);
+            for (int r = 0; r < reviewCount; r++) {
+                reviews.add(new Object[] {reviewId++, "Reviewer " + r, "Review text for product " + id, 1 + random.nextInt(5), now, id});
+            }
+
+            if (products.size() == BATCH || id == catalogSize) {
+                jdbc.batchUpdate("INSERT INTO products (id, name, description, price, stock_quantity, created_at, active, category_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", products);
+                jdbc.batchUpdate("INSERT INTO product_tags (product_id, tag_id) VALUES (?, ?)", tags);
+                jdbc.batchUpdate("INSERT INTO product_images (product_id, image_order, image_url) VALUES (?, ?, ?)", images);
+                jdbc.batchUpdate("INSERT INTO product_specifications (product_id, spec_key, spec_value) VALUES (?, ?, ?)", specifications);
+                jdbc.batchUpdate("INSERT INTO reviews (id, author_name, comment, rating, created_at, product_id) VALUES (?, ?, ?, ?, ?, ?)", reviews);
+                products.clear();
+                tags.clear();
+                images.clear();
+                specifications.clear();
+                reviews.clear();
+            }
+        }
+        // Mantém as sequences à frente dos ids inseridos manualmente
+        jdbc.execute("ALTER SEQUENCE products_seq RESTART WITH " + (catalogSize + 1));
+        jdbc.execute("ALTER SEQUENCE reviews_seq RESTART WITH " + reviewId);
+    }
+
+    private String productName(long id) {
+        return capitalize(pick(ADJECTIVES)) + " " + capitalize(pick(MATERIALS)) + " " + capitalize(pick(NOUNS)) + " " + id;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
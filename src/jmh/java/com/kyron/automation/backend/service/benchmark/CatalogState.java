@@ -0,0 +1,52 @@
+package com.kyron.automation.backend.service.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.ServiceToValidateKyronBackendFrameworkApplication;
+import com.kyron.automation.backend.service.search.ProductSearchIndexer;
+import com.kyron.automation.backend.service.service.RatingSummaryService;
+
+// Sobe o contexto Spring (sem servidor web) uma vez por fork e popula o catálogo no tamanho pedido.
+// O cache de produtos fica desligado para que os benchmarks meçam o caminho real até o banco.
+@State(Scope.Benchmark)
+public class CatalogState {
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ServiceToValidateKyronBackendFrameworkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none",
+                        "kyron.ratings.reconcile-on-startup=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        new CatalogSeeder(context.getBean(JdbcTemplate.class)).seed(catalogSize);
+        context.getBean(RatingSummaryService.class).rebuildAll();
+        context.getBean(ProductSearchIndexer.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,62 @@
+package com.kyron.automation.backend.service.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.service.ProductService;
+
+// Listagens por categoria e por tag, paginadas como a listagem geral: primeira página de 20 e a página
+// seguinte por cursor. O custo deve acompanhar o tamanho da página, não o da categoria ou da tag.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ProductListingBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ProductService productService;
+    private String categoryCursor;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState catalog) {
+        productService = catalog.bean(ProductService.class);
+        categoryCursor = productService.getProductsByCategory(7L, null, Sort.Direction.ASC, 0, PAGE_SIZE, null, ProductView.FULL)
+                .getNextCursor();
+    }
+
+    @Benchmark
+    public List<?> getProductsByCategory() {
+        return productService.getProductsByCategory(7L, null, Sort.Direction.ASC, 0, PAGE_SIZE, null, ProductView.FULL).getContent();
+    }
+
+    @Benchmark
+    public List<?> getProductsByCategorySummary() {
+        return productService.getProductsByCategory(7L, null, Sort.Direction.ASC, 0, PAGE_SIZE, null, ProductView.SUMMARY).getContent();
+    }
+
+    @Benchmark
+    public List<?> getProductsByCategoryNextPage() {
+        return productService.getProductsByCategory(7L, null, Sort.Direction.ASC, 0, PAGE_SIZE, categoryCursor, ProductView.FULL).getContent();
+    }
+
+    @Benchmark
+    public List<?> getProductsByTag() {
+        return productService.getProductsByTag(3L, null, Sort.Direction.ASC, 0, PAGE_SIZE, null, ProductView.FULL).getContent();
+    }
+}
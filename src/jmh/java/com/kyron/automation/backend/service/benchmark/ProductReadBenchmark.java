@@ -0,0 +1,133 @@
+package com.kyron.automation.backend.service.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import com.kyron.automation.backend.service.dto.FacetedSearchDto;
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductBatchDto;
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.service.ProductService;
+
+// Caminhos de leitura paginados do ProductService; SampleTime dá os percentis de latência
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ProductReadBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int BATCH_SIZE = 100;
+
+    private ProductService productService;
+    private int catalogSize;
+    private int middlePage;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState catalog) {
+        productService = catalog.bean(ProductService.class);
+        catalogSize = catalog.catalogSize;
+        middlePage = catalogSize / PAGE_SIZE / 2;
+        middleCursor = productService.getAllProducts("id", Sort.Direction.ASC, middlePage - 1, PAGE_SIZE, null, ProductView.FULL).getNextCursor();
+    }
+
+    @Benchmark
+    public ProductResponseDto getProduct() {
+        return productService.getProduct(1L + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    // Um carrinho de BATCH_SIZE itens: uma leitura em lote x uma leitura por item (sem o cache, que está
+    // desligado no CatalogState). A primeira deve ficar perto do custo de getProduct
+    @Benchmark
+    public ProductBatchDto getProductsBatch() {
+        return productService.getProducts(randomIds(), ProductView.FULL);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> getProductsOneByOne() {
+        List<ProductResponseDto> products = new ArrayList<>(BATCH_SIZE);
+        for (Long id : randomIds()) {
+            products.add(productService.getProduct(id));
+        }
+        return products;
+    }
+
+    @Benchmark
+    public PageDto<?> getAllProductsFirstPage() {
+        return productService.getAllProducts("id", Sort.Direction.ASC, 0, PAGE_SIZE, null, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> getAllProductsFirstPageSummary() {
+        return productService.getAllProducts("id", Sort.Direction.ASC, 0, PAGE_SIZE, null, ProductView.SUMMARY);
+    }
+
+    @Benchmark
+    public PageDto<?> getAllProductsMiddlePageByOffset() {
+        return productService.getAllProducts("id", Sort.Direction.ASC, middlePage, PAGE_SIZE, null, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> getAllProductsMiddlePageByCursor() {
+        return productService.getAllProducts("id", Sort.Direction.ASC, 0, PAGE_SIZE, middleCursor, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> getAllProductsSortedByPrice() {
+        return productService.getAllProducts("price", Sort.Direction.DESC, 0, PAGE_SIZE, null, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> searchByName() {
+        return productService.searchByName("steel widget", 0, PAGE_SIZE, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> searchByNameFuzzy() {
+        return productService.searchByName("bambo ketle", 0, PAGE_SIZE, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> searchProductsWithName() {
+        return productService.searchProducts("leather", new BigDecimal("10"), new BigDecimal("500"), 7L, null, null, 0, PAGE_SIZE, ProductView.FULL);
+    }
+
+    @Benchmark
+    public PageDto<?> searchProductsFiltersOnly() {
+        return productService.searchProducts(null, new BigDecimal("10"), new BigDecimal("500"), null, Set.of(3L, 4L), 3.0, 0, PAGE_SIZE, ProductView.FULL);
+    }
+
+    @Benchmark
+    public FacetedSearchDto searchProductsWithFacets() {
+        return productService.searchProductsWithFacets("ceramic", null, null, null, null, null, 0, PAGE_SIZE, ProductView.FULL);
+    }
+
+    private List<Long> randomIds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add(1L + random.nextInt(catalogSize));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,147 @@
+package com.kyron.automation.backend.service.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kyron.automation.backend.service.dto.ProductSummaryDto;
+import com.kyron.automation.backend.service.mapper.ProductMapper;
+import com.kyron.automation.backend.service.model.Category;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+import com.kyron.automation.backend.service.model.Review;
+import com.kyron.automation.backend.service.model.Tag;
+
+// Corpo da listagem /api/v1/products em JSON, CBOR e Smile (sem banco): vazão de serialização, com e sem gzip.
+// Os bytes no fio de cada combinação (cru e comprimido) são impressos no início de cada fork.
+// Rodar com: -Djmh.args="ResponseEncodingBenchmark -prof gc"
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"full", "summary"})
+    public String view;
+
+    private ObjectMapper mapper;
+    private List<?> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Mesmas configurações que o Spring Boot aplica ao ObjectMapper da aplicação (ResponseEncodingConfig)
+        mapper = new Jackson2ObjectMapperBuilder()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        page = "summary".equals(view) ? summaries(pageSize) : fullPage(pageSize);
+
+        byte[] raw = mapper.writeValueAsBytes(page);
+        System.out.printf("%n[wire] format=%s pageSize=%d view=%s: %d bytes, %d bytes gzip%n",
+                format, pageSize, view, raw.length, gzip(raw).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    // O que o Tomcat faz acima de server.compression.min-response-size quando o cliente aceita gzip
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(page));
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    // Produto típico do catálogo: categoria, três tags, quatro reviews, duas imagens e três especificações
+    private static List<?> fullPage(int size) {
+        Category category = new Category(1L, "Electronics", "Devices and gadgets", true);
+        ProductRatingSummary rating = new ProductRatingSummary(1L);
+        rating.addRating(4);
+        List<Object> dtos = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Product " + id);
+            product.setDescription("Description for product " + id + " with enough text to look like a real one");
+            product.setPrice(BigDecimal.valueOf(1999 + id, 2));
+            product.setStockQuantity(10);
+            product.setCreatedAt(LocalDateTime.now());
+            product.setUpdatedAt(LocalDateTime.now());
+            product.setActive(true);
+            product.setCategory(category);
+            for (long t = 0; t < 3; t++) {
+                product.getTags().add(new Tag(id * 10 + t, "tag" + (id * 10 + t)));
+            }
+            for (long r = 0; r < 4; r++) {
+                product.getReviews().add(new Review(id * 10 + r, "Reviewer " + r, "Review text long enough to matter", 4,
+                        LocalDateTime.now(), product));
+            }
+            product.getImageUrls().add("https://cdn.example.com/" + id + "/0.jpg");
+            product.getImageUrls().add("https://cdn.example.com/" + id + "/1.jpg");
+            product.getSpecifications().put("color", "black");
+            product.getSpecifications().put("weight", "120g");
+            product.getSpecifications().put("material", "steel");
+            dtos.add(ProductMapper.toResponseDto(product, rating));
+        }
+        return dtos;
+    }
+
+    private static List<?> summaries(int size) {
+        List<Object> dtos = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            ProductSummaryDto summary = new ProductSummaryDto(id, "Product " + id, BigDecimal.valueOf(1999 + id, 2), 10,
+                    "Electronics", "https://cdn.example.com/" + id + "/0.jpg", 4.0, 1L, 0L);
+            summary.setTagNames(List.of("tag" + id * 10, "tag" + (id * 10 + 1), "tag" + (id * 10 + 2)));
+            dtos.add(summary);
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,200 @@
+package com.kyron.automation.backend.service.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.ServiceToValidateKyronBackendFrameworkApplication;
+import com.kyron.automation.backend.service.search.ProductSearchIndexer;
+import com.kyron.automation.backend.service.service.RatingSummaryService;
+
+// Teste de carga fora do JMH: sobe a aplicação com Tomcat numa porta aleatória, uma vez com o pool de threads
+// de plataforma e outra com virtual threads (só em Java 21+), e dispara as leituras de produto com muitos
+// clientes simultâneos. Reporta vazão e latências p50/p99 por endpoint e modelo de threads.
+// O cache de produtos fica desligado por padrão para que toda requisição chegue ao JDBC.
+// Rodar com: mvn -Pbenchmark,java21 test-compile exec:exec@load-test -Dload.args="catalogSize=10000 concurrency=400 seconds=20"
+public class ThreadingLoadTest {
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "catalogSize", "10000",
+            "concurrency", "200",
+            "warmupSeconds", "5",
+            "seconds", "15",
+            "cache", "none");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2 || !DEFAULTS.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown option: " + arg + " (expected one of " + DEFAULTS.keySet() + ")");
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        List<Boolean> modes = new ArrayList<>(List.of(false));
+        if (Runtime.version().feature() >= 21) {
+            modes.add(true);
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + " has no virtual threads; measuring the platform pool only");
+        }
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtual : modes) {
+            report.addAll(runMode(virtual, options));
+        }
+        System.out.println(String.format("%-9s %-24s %10s %9s %9s %9s %7s",
+                "threads", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        report.forEach(System.out::println);
+    }
+
+    private static List<String> runMode(boolean virtual, Map<String, String> options) throws Exception {
+        int catalogSize = Integer.parseInt(options.get("catalogSize"));
+        String mode = virtual ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ServiceToValidateKyronBackendFrameworkApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=" + options.get("cache"),
+                        "kyron.ratings.reconcile-on-startup=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            new CatalogSeeder(context.getBean(JdbcTemplate.class)).seed(catalogSize);
+            context.getBean(RatingSummaryService.class).rebuildAll();
+            context.getBean(ProductSearchIndexer.class).rebuild();
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/products";
+            int lastPage = Math.max(catalogSize / 20 - 1, 0);
+            Map<String, IntFunction<String>> endpoints = new LinkedHashMap<>();
+            endpoints.put("GET /{id}", random -> base + "/" + (1 + random % catalogSize));
+            endpoints.put("GET ?page&size=20", random -> base + "?size=20&page=" + random % (lastPage + 1));
+            endpoints.put("GET /search?name", random -> base + "/search?size=20&name="
+                    + CatalogSeeder.NOUNS[random % CatalogSeeder.NOUNS.length]);
+
+            List<String> rows = new ArrayList<>();
+            for (Map.Entry<String, IntFunction<String>> endpoint : endpoints.entrySet()) {
+                Result result = drive(endpoint.getValue(), options);
+                rows.add(String.format("%-9s %-24s %10.1f %9.2f %9.2f %9.2f %7d",
+                        mode, endpoint.getKey(), result.throughput(), result.percentileMillis(0.50),
+                        result.percentileMillis(0.99), result.percentileMillis(1.0), result.errors()));
+            }
+            return rows;
+        } finally {
+            context.close();
+        }
+    }
+
+    // Cada cliente é uma thread de plataforma com requisições bloqueantes em sequência (laço fechado),
+    // então a concorrência no servidor é exatamente o número de clientes
+    private static Result drive(IntFunction<String> url, Map<String, String> options) throws InterruptedException {
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.get("warmupSeconds"))).toNanos();
+        long measureNanos = Duration.ofSeconds(Long.parseLong(options.get("seconds"))).toNanos();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+        Client[] clients = new Client[concurrency];
+        Thread[] threads = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            clients[i] = new Client(client, url, measureFrom, measureUntil);
+            threads[i] = new Thread(clients[i], "load-client-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] merged = new long[Arrays.stream(clients).mapToInt(c -> c.count).sum()];
+        int offset = 0;
+        long errors = 0;
+        for (Client c : clients) {
+            System.arraycopy(c.latencies, 0, merged, offset, c.count);
+            offset += c.count;
+            errors += c.errors;
+        }
+        Arrays.sort(merged);
+        return new Result(merged, errors, measureNanos);
+    }
+
+    private static final class Client implements Runnable {
+        private final HttpClient client;
+        private final IntFunction<String> url;
+        private final long measureFrom;
+        private final long measureUntil;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Client(HttpClient client, IntFunction<String> url, long measureFrom, long measureUntil) {
+            this.client = client;
+            this.url = url;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long now;
+            while ((now = System.nanoTime()) < measureUntil) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url.apply(random.nextInt(Integer.MAX_VALUE))))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                boolean ok;
+                try {
+                    ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long elapsed = System.nanoTime() - now;
+                if (now < measureFrom) {
+                    continue;
+                }
+                if (!ok) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = elapsed;
+            }
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long errors, long measureNanos) {
+        double throughput() {
+            return sortedLatencies.length / (measureNanos / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.kyron.automation.backend.service.mapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import com.kyron.automation.backend.service.dto.CategoryDto;
+import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.dto.TagDto;
+import com.kyron.automation.backend.service.model.Category;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+import com.kyron.automation.backend.service.model.Review;
+import com.kyron.automation.backend.service.model.Tag;
+
+// Mapeamento puro em memória (sem banco): conversão antiga via BeanUtils x ProductMapper.
+// Rodar com: -Djmh.args="ProductMapperBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private List<Product> products;
+    private ProductRatingSummary rating;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Category category = new Category(1L, "Electronics", "Devices and gadgets", true);
+        products = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Product " + id);
+            product.setDescription("Description for product " + id);
+            product.setPrice(BigDecimal.valueOf(1999, 2));
+            product.setStockQuantity(10);
+            product.setCreatedAt(LocalDateTime.now());
+            product.setActive(true);
+            product.setCategory(category);
+            for (long t = 0; t < 3; t++) {
+                product.getTags().add(new Tag(id * 10 + t, "tag" + (id * 10 + t)));
+            }
+            for (long r = 0; r < 4; r++) {
+                product.getReviews().add(new Review(id * 10 + r, "Reviewer", "Review text long enough", 4, LocalDateTime.now(), product));
+            }
+            product.getImageUrls().add("https://cdn.example.com/" + id + "/0.jpg");
+            product.getImageUrls().add("https://cdn.example.com/" + id + "/1.jpg");
+            product.getSpecifications().put("color", "black");
+            product.getSpecifications().put("weight", "120g");
+            product.getSpecifications().put("material", "steel");
+            products.add(product);
+        }
+        rating = new ProductRatingSummary(1L);
+        rating.addRating(4);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> beanUtils() {
+        List<ProductResponseDto> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            dtos.add(beanUtilsConversion(product, rating));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> productMapper() {
+        List<ProductResponseDto> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            dtos.add(ProductMapper.toResponseDto(product, rating));
+        }
+        return dtos;
+    }
+
+    // Cópia fiel do conversor anterior do ProductService, mantida só como linha de base
+    private static ProductResponseDto beanUtilsConversion(Product product, ProductRatingSummary rating) {
+        ProductResponseDto responseDto = new ProductResponseDto();
+        responseDto.setId(product.getId());
+        responseDto.setName(product.getName());
+        responseDto.setDescription(product.getDescription());
+        responseDto.setPrice(product.getPrice());
+        responseDto.setStockQuantity(product.getStockQuantity());
+        responseDto.setCreatedAt(product.getCreatedAt());
+        responseDto.setUpdatedAt(product.getUpdatedAt());
+        responseDto.setActive(product.getActive());
+        if (product.getCategory() != null) {
+            CategoryDto categoryDto = new CategoryDto();
+            BeanUtils.copyProperties(product.getCategory(), categoryDto);
+            responseDto.setCategory(categoryDto);
+        }
+        Set<TagDto> tagDtos = product.getTags().stream()
+                .map(tag -> {
+                    TagDto tagDto = new TagDto();
+                    BeanUtils.copyProperties(tag, tagDto);
+                    return tagDto;
+                })
+                .collect(Collectors.toSet());
+        responseDto.setTags(tagDtos);
+        List<ReviewDto> reviewDtos = product.getReviews().stream()
+                .map(review -> {
+                    ReviewDto reviewDto = new ReviewDto();
+                    BeanUtils.copyProperties(review, reviewDto);
+                    return reviewDto;
+                })
+                .collect(Collectors.toList());
+        responseDto.setReviews(reviewDtos);
+        responseDto.setImageUrls(new ArrayList<>(product.getImageUrls()));
+        responseDto.setSpecifications(new HashMap<>(product.getSpecifications()));
+        responseDto.setAverageRating(rating.getAverageRating());
+        responseDto.setTotalReviews(rating.getTotalReviews().intValue());
+        return responseDto;
+    }
+}
@@ -0,0 +1,80 @@
+package com.kyron.automation.backend.service.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyron.automation.backend.service.benchmark.CatalogState;
+import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+
+// Conversão entidade -> DTO e serialização Jackson de uma página, isoladas do carregamento.
+// Fica no pacote service para alcançar o conversor package-private do ProductService.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ProductConversionBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+    private List<Product> page;
+    private List<ProductResponseDto> pageDtos;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState catalog) {
+        productService = catalog.bean(ProductService.class);
+        objectMapper = catalog.bean(ObjectMapper.class);
+        ProductRepository productRepository = catalog.bean(ProductRepository.class);
+        List<Long> ids = LongStream.rangeClosed(1, PAGE_SIZE).boxed().toList();
+
+        // Entidades com todas as coleções já carregadas, desanexadas ao fim da transação
+        page = new TransactionTemplate(catalog.bean(PlatformTransactionManager.class)).execute(status -> {
+            List<Product> products = productRepository.findAllById(ids);
+            for (Product product : products) {
+                Hibernate.initialize(product.getTags());
+                Hibernate.initialize(product.getReviews());
+                Hibernate.initialize(product.getImageUrls());
+                Hibernate.initialize(product.getSpecifications());
+            }
+            return products;
+        });
+        pageDtos = productService.convertToResponseDtos(page);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> convertPage() {
+        return productService.convertToResponseDtos(page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageDtos.get(0));
+    }
+}
@@ -0,0 +1,38 @@
+package com.kyron.automation.backend.service.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// O interceptor de cache fica por fora do transacional: as invalidações só ocorrem após o commit
+// e um cache hit não abre transação
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    public static final String PRODUCTS_CACHE = "products";
+
+    // Com virtual threads o get sincronizado do Caffeine (sync = true) carregaria do banco dentro do lock
+    // de um bin do ConcurrentHashMap, prendendo a carrier thread durante todo o JDBC. No modo assíncrono
+    // o carregamento roda em outra virtual thread e quem espera o mesmo produto só estaciona no future
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCaffeineCustomizer(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            SimpleAsyncTaskExecutor loader = new SimpleAsyncTaskExecutor("cache-load-");
+            loader.setVirtualThreads(true);
+            cacheManager.setCaffeine((StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder()).executor(loader));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
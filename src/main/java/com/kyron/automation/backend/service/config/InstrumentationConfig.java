@@ -0,0 +1,63 @@
+package com.kyron.automation.backend.service.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.kyron.automation.backend.service.instrumentation.EntityLoadInterceptor;
+import com.kyron.automation.backend.service.instrumentation.RequestMetricsInterceptor;
+import com.kyron.automation.backend.service.instrumentation.SqlMetricsListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Métricas por requisição dos controllers em /api: latência, SQL, tempo JDBC e entidades carregadas.
+// Consultar em /actuator/metrics/kyron.request.* (tag handler=Controller.metodo)
+@Configuration
+@ConditionalOnProperty(prefix = "kyron.instrumentation", name = "enabled", matchIfMissing = true)
+public class InstrumentationConfig implements WebMvcConfigurer {
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public InstrumentationConfig(MeterRegistry meterRegistry,
+                                 @Value("${kyron.instrumentation.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, nPlusOneThreshold))
+                .addPathPatterns("/api/**");
+    }
+
+    // Envolve o DataSource num proxy que reporta cada statement executado
+    @Bean
+    static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlMetricsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer entityLoadInterceptorCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.interceptor", new EntityLoadInterceptor());
+    }
+}
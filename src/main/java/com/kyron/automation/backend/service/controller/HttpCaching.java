@@ -0,0 +1,146 @@
+package com.kyron.automation.backend.service.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import com.kyron.automation.backend.service.config.ResponseEncodingConfig;
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductBatchDto;
+import com.kyron.automation.backend.service.dto.VersionedProduct;
+
+// Validadores HTTP (ETag e Last-Modified) e Cache-Control por endpoint (kyron.http.cache-control.*).
+// Leituras de um produto checam If-None-Match/If-Modified-Since antes de montar o DTO; nas listagens o
+// ETag sai da página já montada e o 304 evita só a serialização e a transferência. JSON, CBOR e Smile são
+// representações diferentes do mesmo recurso: cada uma tem seu ETag e a resposta varia por Accept
+@Component
+class HttpCaching {
+    enum Endpoint { PRODUCT, PRODUCT_LIST, REVIEW_SUMMARY }
+
+    private final Map<Endpoint, String> cacheControl = new EnumMap<>(Endpoint.class);
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    // Fora de um contexto web (benchmarks JMH) não há o ContentNegotiationManager do Spring MVC
+    HttpCaching(ObjectProvider<ContentNegotiationManager> contentNegotiationManager,
+                @Value("${kyron.http.cache-control.product:max-age=30, must-revalidate}") String product,
+                @Value("${kyron.http.cache-control.product-list:no-cache}") String productList,
+                @Value("${kyron.http.cache-control.review-summary:max-age=60, must-revalidate}") String reviewSummary) {
+        cacheControl.put(Endpoint.PRODUCT, product);
+        cacheControl.put(Endpoint.PRODUCT_LIST, productList);
+        cacheControl.put(Endpoint.REVIEW_SUMMARY, reviewSummary);
+        this.contentNegotiationManager = contentNegotiationManager.getIfAvailable(ContentNegotiationManager::new);
+    }
+
+    // Sem If-None-Match nem If-Modified-Since não há o que validar antes: a resposta sai com os validadores do DTO
+    boolean isConditional(NativeWebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // 304 com os mesmos validadores e Cache-Control quando o cliente já tem esta versão; null caso contrário
+    <T> ResponseEntity<T> notModified(NativeWebRequest request, Endpoint endpoint, String etag, LocalDateTime lastModified) {
+        etag = forRepresentation(etag, request);
+        long lastModifiedMillis = lastModified != null ? toInstant(lastModified).toEpochMilli() : -1;
+        if (!request.checkNotModified(etag, lastModifiedMillis)) {
+            return null;
+        }
+        return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), endpoint, etag, lastModified).build();
+    }
+
+    // 200 com validadores; se o cliente mandou um ETag igual, o Spring ainda responde 304 sem escrever o corpo
+    ResponseEntity.BodyBuilder ok(NativeWebRequest request, Endpoint endpoint, String etag, LocalDateTime lastModified) {
+        return validators(ResponseEntity.ok(), endpoint, forRepresentation(etag, request), lastModified);
+    }
+
+    private ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, Endpoint endpoint,
+                                                  String etag, LocalDateTime lastModified) {
+        builder.eTag(etag);
+        builder.varyBy(HttpHeaders.ACCEPT);
+        if (lastModified != null) {
+            builder.lastModified(toInstant(lastModified));
+        }
+        String policy = cacheControl.get(endpoint);
+        if (StringUtils.hasText(policy)) {
+            builder.header(HttpHeaders.CACHE_CONTROL, policy);
+        }
+        return builder;
+    }
+
+    // O Tomcat não comprime respostas com ETag forte (com gzip os bytes mudam); quem aceita gzip recebe um ETag
+    // fraco, que continua valendo para If-None-Match. Quem não aceita recebe o ETag forte da representação
+    private String forRepresentation(String etag, NativeWebRequest request) {
+        String representation = etag.substring(0, etag.length() - 1) + encodingSuffix(request) + "\"";
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") ? "W/" + representation : representation;
+    }
+
+    // Mesma escolha do Spring MVC: o primeiro tipo aceito que um dos conversores Jackson produz. JSON sem sufixo
+    private String encodingSuffix(NativeWebRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return "";
+        }
+        for (MediaType type : accepted) {
+            if (type.isWildcardType() || type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "-cbor";
+            }
+            if (type.isCompatibleWith(ResponseEncodingConfig.APPLICATION_SMILE)) {
+                return "-smile";
+            }
+        }
+        return "";
+    }
+
+    static String etag(Long productId, Long version) {
+        return "\"" + productId + "-" + version + "\"";
+    }
+
+    // Página de listagem: forma dos itens (view), ids e versões na ordem, mais total e cursor
+    static String etag(PageDto<?> page) {
+        return etag(page.getContent(), page.getTotalElements() + "," + page.getNextCursor());
+    }
+
+    // Leitura em lote: os itens encontrados e os ids que faltaram (um deles pode ser criado depois)
+    static String etag(ProductBatchDto batch) {
+        return etag(batch.getContent(), batch.getNotFound().toString());
+    }
+
+    private static String etag(List<?> items, String tail) {
+        StringBuilder key = new StringBuilder(items.size() * 16 + 64);
+        if (!items.isEmpty()) {
+            key.append(items.get(0).getClass().getSimpleName()).append(',');
+        }
+        for (Object item : items) {
+            VersionedProduct product = (VersionedProduct) item;
+            key.append(product.getId()).append(':').append(product.getVersion()).append(',');
+        }
+        key.append(tail);
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,31 @@
+package com.kyron.automation.backend.service.controller;
+
+import com.kyron.automation.backend.service.dto.PageDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+// Metadados de paginação nos headers: X-Total-Count, X-Next-Cursor, Link rel="next" e X-Results-Truncated
+final class PageHeaders {
+
+    private PageHeaders() {
+    }
+
+    static HttpHeaders of(PageDto<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getTotalElements() != null) {
+            headers.add("X-Total-Count", page.getTotalElements().toString());
+        }
+        if (page.isTruncated()) {
+            headers.add("X-Results-Truncated", "true");
+        }
+        if (page.getNextCursor() != null) {
+            headers.add("X-Next-Cursor", page.getNextCursor());
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
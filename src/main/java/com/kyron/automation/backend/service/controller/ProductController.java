@@ -1,15 +1,37 @@
 package com.kyron.automation.backend.service.controller;
 
+import com.kyron.automation.backend.service.dto.BulkImportResultDto;
+import com.kyron.automation.backend.service.dto.FacetedSearchDto;
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductBatchDto;
+import com.kyron.automation.backend.service.dto.ProductFieldsDto;
 import com.kyron.automation.backend.service.dto.ProductRequestDto;
 import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.dto.ProductVersionDto;
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.dto.StockLevelDto;
+import com.kyron.automation.backend.service.service.ProductExportService;
+import com.kyron.automation.backend.service.service.ProductImportService;
 import com.kyron.automation.backend.service.service.ProductService;
+import com.kyron.automation.backend.service.service.StockService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.List;
 
@@ -17,15 +39,27 @@ import java.util.List;
 @RequestMapping("/api/v1/products")
 public class ProductController {
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final StockService stockService;
+    private final HttpCaching httpCaching;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductImportService productImportService,
+                             ProductExportService productExportService,
+                             StockService stockService,
+                             HttpCaching httpCaching) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.stockService = stockService;
+        this.httpCaching = httpCaching;
     }
 
     // POST endpoint with request body validation and custom headers
     @PostMapping
     public ResponseEntity<ProductResponseDto> createProduct(
-            @Valid @RequestBody ProductRequestDto product,
+            @Validated({Default.class, ProductRequestDto.OnCreate.class}) @RequestBody ProductRequestDto product,
             @RequestHeader(value = "X-API-Key", required = true) String apiKey) {
         ProductResponseDto createdProduct = productService.createProduct(product);
         HttpHeaders headers = new HttpHeaders();
@@ -33,22 +67,97 @@ public class ProductController {
         return new ResponseEntity<>(createdProduct, headers, HttpStatus.CREATED);
     }
 
+    // POST endpoint para importação em massa (array JSON ou NDJSON lido em streaming)
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDto> importProducts(
+            InputStream body,
+            @RequestHeader(value = "X-API-Key", required = true) String apiKey) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(body));
+    }
+
+    // GET endpoint de exportação em NDJSON com memória constante
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        StreamingResponseBody body = out -> productExportService.exportProducts(updatedSince, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // GET endpoint with path variable
+    // ETag da versão do produto e Last-Modified da última alteração; um GET condicional que casa
+    // responde 304 sem montar nem serializar o DTO
+    // fields=id,name,price devolve só esses campos, lendo só as colunas e tabelas deles
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDto> getProduct(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProduct(id));
+    public ResponseEntity<?> getProduct(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        ProductView view = ProductView.parse(null, fields);
+        if (httpCaching.isConditional(request)) {
+            ProductVersionDto version = productService.findProductVersion(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
+            ResponseEntity<?> notModified = httpCaching.notModified(request, HttpCaching.Endpoint.PRODUCT,
+                    HttpCaching.etag(id, version.getVersion()), version.getLastModified());
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        if (view.isSparse()) {
+            ProductFieldsDto product = productService.getProduct(id, view);
+            return httpCaching.ok(request, HttpCaching.Endpoint.PRODUCT, HttpCaching.etag(id, product.getVersion()),
+                            product.getLastModified())
+                    .body(product);
+        }
+        ProductResponseDto product = productService.getProduct(id);
+        return httpCaching.ok(request, HttpCaching.Endpoint.PRODUCT, HttpCaching.etag(id, product.getVersion()),
+                        product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt())
+                .body(product);
     }
 
     // GET endpoint with optional query parameters and pagination
+    // Offset via page/size ou keyset via cursor; total e próximo cursor vão nos headers.
+    // view=summary devolve itens enxutos sem reviews (essas ficam em /api/v1/products/{id}/reviews);
+    // fields= escolhe os campos de cada item e tem precedência sobre view
     @GetMapping
-    public ResponseEntity<List<ProductResponseDto>> getAllProducts(
+    public ResponseEntity<List<?>> getAllProducts(
             @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(productService.getAllProducts());
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        PageDto<?> result = productService.getAllProducts(sortBy, direction, page, size, cursor,
+                ProductView.parse(view, fields));
+        return listing(result, request);
+    }
+
+    // Vários produtos por id numa só requisição, na ordem pedida; ids sem produto vão em notFound.
+    // Mesmas formas (view, fields) e mesmo limite de ids do POST /batch, que serve para listas longas
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductBatchDto> getProductsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        ProductBatchDto batch = productService.getProducts(ids, ProductView.parse(view, fields));
+        return httpCaching.ok(request, HttpCaching.Endpoint.PRODUCT_LIST, HttpCaching.etag(batch), null)
+                .body(batch);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchDto> getProductsByIds(
+            @RequestBody List<Long> ids,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(productService.getProducts(ids, ProductView.parse(view, fields)));
     }
 
     // PUT endpoint with path variable and request body
+    // stockQuantity é opcional e não altera o estoque: diferente do atual, 400 (use PATCH /{id}/stock)
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponseDto> updateProduct(
             @PathVariable Long id,
@@ -56,13 +165,13 @@ public class ProductController {
         return ResponseEntity.ok(productService.updateProduct(id, product));
     }
 
-    // PATCH endpoint for partial updates
+    // PATCH endpoint for partial updates: quantity é um delta (positivo repõe, negativo dá baixa; 409 sem estoque)
+    // |quantity| até 1.000.000; fora disso, 400
     @PatchMapping("/{id}/stock")
-    public ResponseEntity<Void> updateStock(
+    public ResponseEntity<StockLevelDto> updateStock(
             @PathVariable Long id,
             @RequestParam Integer quantity) {
-        // Implementation would go here
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(stockService.adjustStock(id, quantity));
     }
 
     // DELETE endpoint
@@ -74,23 +183,33 @@ public class ProductController {
 
     // GET endpoint with multiple query parameters
     @GetMapping("/search/price")
-    public ResponseEntity<List<ProductResponseDto>> searchByPriceRange(
+    public ResponseEntity<List<?>> searchByPriceRange(
             @RequestParam BigDecimal minPrice,
-            @RequestParam BigDecimal maxPrice) {
-        return ResponseEntity.ok(productService.searchByPriceRange(minPrice, maxPrice));
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(productService.searchByPriceRange(minPrice, maxPrice, ProductView.parse(view, fields)));
     }
 
     // GET endpoint with query parameter
+    // Resultados ranqueados por relevância e paginados; total no header X-Total-Count
     @GetMapping("/search")
-    public ResponseEntity<List<ProductResponseDto>> searchByName(
-            @RequestParam String name) {
-        return ResponseEntity.ok(productService.searchByName(name));
+    public ResponseEntity<List<?>> searchByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields) {
+        PageDto<?> result = productService.searchByName(name, page, size, ProductView.parse(view, fields));
+        return ResponseEntity.ok()
+                .headers(PageHeaders.of(result))
+                .body(result.getContent());
     }
 
     // HEAD endpoint to check resource existence
     @RequestMapping(method = RequestMethod.HEAD, value = "/{id}")
     public ResponseEntity<Void> checkProductExists(@PathVariable Long id) {
-        productService.getProduct(id); // Will throw EntityNotFoundException if not found
+        productService.checkProductExists(id); // Will throw EntityNotFoundException if not found
         return ResponseEntity.ok().build();
     }
 
@@ -118,30 +237,85 @@ public class ProductController {
         return ResponseEntity.ok(productService.addImages(id, imageUrls));
     }
 
-    // Endpoint para buscar produtos por categoria
+    // Endpoint para buscar produtos por categoria, paginado como a listagem geral
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ProductResponseDto>> getProductsByCategory(
-            @PathVariable Long categoryId) {
-        return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
+    public ResponseEntity<List<?>> getProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        PageDto<?> result = productService.getProductsByCategory(categoryId, sortBy, direction, page, size, cursor,
+                ProductView.parse(view, fields));
+        return listing(result, request);
     }
 
-    // Endpoint para buscar produtos por tag
+    // Endpoint para buscar produtos por tag, paginado como a listagem geral
     @GetMapping("/tag/{tagId}")
-    public ResponseEntity<List<ProductResponseDto>> getProductsByTag(
-            @PathVariable Long tagId) {
-        return ResponseEntity.ok(productService.getProductsByTag(tagId));
+    public ResponseEntity<List<?>> getProductsByTag(
+            @PathVariable Long tagId,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest request) {
+        PageDto<?> result = productService.getProductsByTag(tagId, sortBy, direction, page, size, cursor,
+                ProductView.parse(view, fields));
+        return listing(result, request);
     }
 
     // Endpoint para buscar produtos com filtros complexos
+    // Com name, só os kyron.search.max-candidates acertos mais relevantes são filtrados; se houver mais,
+    // a resposta leva X-Results-Truncated: true e X-Total-Count passa a ser um limite inferior
     @GetMapping("/search/advanced")
-    public ResponseEntity<List<ProductResponseDto>> searchProducts(
+    public ResponseEntity<List<?>> searchProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) Set<Long> tagIds,
-            @RequestParam(required = false) Double minRating) {
-        return ResponseEntity.ok(productService.searchProducts(name, minPrice, maxPrice, categoryId, tagIds, minRating));
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields) {
+        PageDto<?> result = productService.searchProducts(
+                name, minPrice, maxPrice, categoryId, tagIds, minRating, page, size, ProductView.parse(view, fields));
+        return ResponseEntity.ok()
+                .headers(PageHeaders.of(result))
+                .body(result.getContent());
+    }
+
+    // Busca avançada com contagens por categoria, tag, faixa de preço e nota. Com name acima de
+    // kyron.search.max-candidates acertos, total e contagens são aproximados e o corpo traz truncated=true
+    @GetMapping("/search/faceted")
+    public ResponseEntity<FacetedSearchDto> searchProductsWithFacets(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Set<Long> tagIds,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(productService.searchProductsWithFacets(
+                name, minPrice, maxPrice, categoryId, tagIds, minRating, page, size, ProductView.parse(view, fields)));
+    }
+
+    // Listagens paginadas: ETag da página (ids e versões) e Cache-Control de listagem
+    private ResponseEntity<List<?>> listing(PageDto<?> result, NativeWebRequest request) {
+        return httpCaching.ok(request, HttpCaching.Endpoint.PRODUCT_LIST, HttpCaching.etag(result), null)
+                .headers(PageHeaders.of(result))
+                .body(result.getContent());
     }
 
     // OPTIONS endpoint to show allowed methods
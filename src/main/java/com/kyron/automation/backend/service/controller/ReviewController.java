@@ -1,7 +1,10 @@
 package com.kyron.automation.backend.service.controller;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,40 +13,100 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductVersionDto;
 import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.dto.ReviewSubmissionDto;
 import com.kyron.automation.backend.service.dto.ReviewSummaryDto;
+import com.kyron.automation.backend.service.service.ProductService;
+import com.kyron.automation.backend.service.service.ReviewIngestionQueue;
 import com.kyron.automation.backend.service.service.ReviewService;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1/products/{productId}/reviews")
 public class ReviewController {
     private final ReviewService reviewService;
+    private final ReviewIngestionQueue reviewIngestionQueue;
+    private final ProductService productService;
+    private final HttpCaching httpCaching;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService,
+                            ReviewIngestionQueue reviewIngestionQueue,
+                            ProductService productService,
+                            HttpCaching httpCaching) {
         this.reviewService = reviewService;
+        this.reviewIngestionQueue = reviewIngestionQueue;
+        this.productService = productService;
+        this.httpCaching = httpCaching;
     }
 
+    // Com kyron.reviews.ingestion.enabled a review é só validada e enfileirada: 202 com o trackingId
+    // e a URL de acompanhamento; 429 quando a fila está cheia
     @PostMapping
-    public ResponseEntity<ReviewDto> addReview(
+    public ResponseEntity<?> addReview(
             @PathVariable Long productId,
             @Valid @RequestBody ReviewDto reviewDto) {
+        if (reviewIngestionQueue.isEnabled()) {
+            ReviewSubmissionDto submission = reviewIngestionQueue.submit(productId, reviewDto);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/submissions/{trackingId}")
+                    .buildAndExpand(submission.getTrackingId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(submission);
+        }
         return ResponseEntity.ok(reviewService.addReview(productId, reviewDto));
     }
 
+    @GetMapping("/submissions/{trackingId}")
+    public ResponseEntity<ReviewSubmissionDto> getSubmission(
+            @PathVariable Long productId,
+            @PathVariable String trackingId) {
+        ReviewSubmissionDto submission = reviewIngestionQueue.getSubmission(trackingId);
+        if (submission == null || !submission.getProductId().equals(productId)) {
+            throw new EntityNotFoundException("Review submission not found: " + trackingId);
+        }
+        return ResponseEntity.ok(submission);
+    }
+
+    // Mais recentes primeiro por padrão; sortBy=rating ordena por nota. Offset via page/size ou
+    // keyset via cursor, com total e próximo cursor nos headers como na listagem de produtos
     @GetMapping
     public ResponseEntity<List<ReviewDto>> getProductReviews(
             @PathVariable Long productId,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(reviewService.getProductReviews(productId, page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        PageDto<ReviewDto> result = reviewService.getProductReviews(productId, sortBy, direction, page, size, cursor);
+        return ResponseEntity.ok()
+                .headers(PageHeaders.of(result))
+                .body(result.getContent());
     }
 
+    // Toda review nova sobe a versão do produto, então os validadores do produto valem para o resumo.
+    // Lidos antes do resumo: numa corrida o cliente recebe um corpo mais novo que o ETag, nunca um 304 velho
     @GetMapping("/summary")
     public ResponseEntity<ReviewSummaryDto> getReviewSummary(
-            @PathVariable Long productId) {
-        return ResponseEntity.ok(reviewService.getReviewSummary(productId));
+            @PathVariable Long productId,
+            NativeWebRequest request) {
+        Optional<ProductVersionDto> version = productService.findProductVersion(productId);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(reviewService.getReviewSummary(productId));
+        }
+        String etag = HttpCaching.etag(productId, version.get().getVersion());
+        ResponseEntity<ReviewSummaryDto> notModified = httpCaching.notModified(request, HttpCaching.Endpoint.REVIEW_SUMMARY,
+                etag, version.get().getLastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+        return httpCaching.ok(request, HttpCaching.Endpoint.REVIEW_SUMMARY, etag, version.get().getLastModified())
+                .body(reviewService.getReviewSummary(productId));
     }
 }
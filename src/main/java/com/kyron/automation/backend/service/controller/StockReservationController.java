@@ -0,0 +1,58 @@
+package com.kyron.automation.backend.service.controller;
+
+import java.net.URI;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.kyron.automation.backend.service.dto.StockReservationDto;
+import com.kyron.automation.backend.service.dto.StockReservationRequestDto;
+import com.kyron.automation.backend.service.service.StockService;
+
+import jakarta.validation.Valid;
+
+// Reservas de estoque de vários produtos numa transação. 409 quando falta estoque em algum item
+// ou quando a reserva já foi confirmada, liberada ou expirou
+@RestController
+@RequestMapping("/api/v1/stock/reservations")
+public class StockReservationController {
+    private final StockService stockService;
+
+    public StockReservationController(StockService stockService) {
+        this.stockService = stockService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StockReservationDto> reserve(@Valid @RequestBody StockReservationRequestDto request) {
+        StockReservationDto reservation = stockService.reserve(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(reservation.getId())
+                .toUri();
+        return ResponseEntity.created(location).body(reservation);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StockReservationDto> getReservation(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockService.getReservation(id));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<StockReservationDto> confirm(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockService.confirm(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable UUID id) {
+        stockService.release(id);
+        return ResponseEntity.noContent().build();
+    }
+}
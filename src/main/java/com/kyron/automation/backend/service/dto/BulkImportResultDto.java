@@ -0,0 +1,26 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportResultDto {
+    private int totalRows;
+    private int created;
+    private int failed;
+    private List<BulkImportRowResultDto> rows = new ArrayList<>();
+
+    public void addCreated(int index, Long productId) {
+        totalRows++;
+        created++;
+        rows.add(new BulkImportRowResultDto(index, BulkImportRowResultDto.Status.CREATED, productId, null));
+    }
+
+    public void addFailed(int index, String error) {
+        totalRows++;
+        failed++;
+        rows.add(new BulkImportRowResultDto(index, BulkImportRowResultDto.Status.FAILED, null, error));
+    }
+}
@@ -0,0 +1,17 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportRowResultDto {
+    public enum Status { CREATED, FAILED }
+
+    private int index;
+    private Status status;
+    private Long productId;
+    private String error;
+}
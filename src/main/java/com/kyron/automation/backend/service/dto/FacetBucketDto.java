@@ -0,0 +1,14 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetBucketDto {
+    // Id da categoria/tag, faixa de preço ("25-50") ou nota
+    private String value;
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetedSearchDto {
+    // ProductResponseDto ou ProductSummaryDto, conforme a view pedida
+    private List<?> content;
+    private long totalElements;
+    // Calculadas sobre todos os produtos que casaram, não só a página
+    private SearchFacetsDto facets;
+    // Busca por nome com mais acertos que kyron.search.max-candidates: total e contagens vêm só dos
+    // candidatos mais relevantes e são aproximados
+    private boolean truncated;
+}
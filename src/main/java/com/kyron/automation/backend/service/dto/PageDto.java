@@ -0,0 +1,24 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageDto<T> {
+    private List<T> content;
+    // Nulo quando a contagem não é calculada (modo cursor)
+    private Long totalElements;
+    private String nextCursor;
+    // Busca por nome com mais acertos que kyron.search.max-candidates: itens e total cobrem só os
+    // candidatos mais relevantes, e o total é um limite inferior
+    private boolean truncated;
+
+    public PageDto(List<T> content, Long totalElements, String nextCursor) {
+        this(content, totalElements, nextCursor, false);
+    }
+}
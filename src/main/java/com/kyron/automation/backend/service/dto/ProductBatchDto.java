@@ -0,0 +1,17 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchDto {
+    // Na ordem dos ids pedidos, na forma da view (ou de fields=)
+    private List<?> content;
+    // Ids pedidos sem produto correspondente, também na ordem do pedido
+    private List<Long> notFound;
+}
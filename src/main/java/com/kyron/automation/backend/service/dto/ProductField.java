@@ -0,0 +1,67 @@
+package com.kyron.automation.backend.service.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.stream.Collectors;
+
+// Campos aceitos em fields=, com o nome no JSON e a origem de cada um. Só as origens dos campos pedidos
+// são consultadas: colunas de products, a categoria, o resumo de notas ou uma das tabelas de coleção
+public enum ProductField {
+    ID("id", Source.PRODUCT),
+    NAME("name", Source.PRODUCT),
+    DESCRIPTION("description", Source.PRODUCT),
+    PRICE("price", Source.PRODUCT),
+    STOCK_QUANTITY("stockQuantity", Source.PRODUCT),
+    CREATED_AT("createdAt", Source.PRODUCT),
+    UPDATED_AT("updatedAt", Source.PRODUCT),
+    ACTIVE("active", Source.PRODUCT),
+    CATEGORY("category", Source.CATEGORY),
+    TAGS("tags", Source.TAGS),
+    REVIEWS("reviews", Source.REVIEWS),
+    IMAGE_URLS("imageUrls", Source.IMAGES),
+    SPECIFICATIONS("specifications", Source.SPECIFICATIONS),
+    AVERAGE_RATING("averageRating", Source.RATING),
+    TOTAL_REVIEWS("totalReviews", Source.RATING);
+
+    public enum Source { PRODUCT, CATEGORY, RATING, TAGS, REVIEWS, IMAGES, SPECIFICATIONS }
+
+    private final String jsonName;
+    private final Source source;
+
+    ProductField(String jsonName, Source source) {
+        this.jsonName = jsonName;
+        this.source = source;
+    }
+
+    // Nos campos de products, o nome no JSON é também o atributo da entidade
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    // Lista separada por vírgulas com os nomes do JSON; a ordem na resposta é sempre a do enum
+    public static EnumSet<ProductField> parse(String fields) {
+        EnumSet<ProductField> parsed = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.jsonName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + trimmed + ". Allowed: " + allowed())));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required. Allowed: " + allowed());
+        }
+        return parsed;
+    }
+
+    private static String allowed() {
+        return Arrays.stream(values()).map(ProductField::getJsonName).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,43 @@
+package com.kyron.automation.backend.service.dto;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+// Produto só com os campos pedidos em fields=, na ordem de ProductField. Id, versão e data da última
+// alteração servem aos validadores HTTP e só vão no corpo se pedidos
+@Getter
+@Setter
+public class ProductFieldsDto implements VersionedProduct {
+    @JsonIgnore
+    private Long id;
+
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private LocalDateTime lastModified;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<ProductField, Object> values = new EnumMap<>(ProductField.class);
+
+    public void put(ProductField field, Object value) {
+        values.put(field, value);
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getFields() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        values.forEach((field, value) -> fields.put(field.getJsonName(), value));
+        return fields;
+    }
+}
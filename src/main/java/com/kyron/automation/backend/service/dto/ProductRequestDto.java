@@ -25,7 +25,9 @@ public class ProductRequestDto {
     @Positive(message = "Price must be positive")
     private BigDecimal price;
 
-    @NotNull(message = "Stock quantity is required")
+    // Obrigatório só na criação (POST e importação). No PUT é opcional e, se vier, tem que ser o estoque
+    // atual: depois de criado, o estoque muda apenas por delta
+    @NotNull(message = "Stock quantity is required", groups = OnCreate.class)
     @Positive(message = "Stock quantity must be positive")
     private Integer stockQuantity;
 
@@ -39,4 +41,7 @@ public class ProductRequestDto {
     private List<ReviewDto> reviews;
 
     private Map<String, String> specifications;
+
+    public interface OnCreate {
+    }
 }
@@ -1,5 +1,6 @@
 package com.kyron.automation.backend.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -9,7 +10,7 @@ import java.util.Map;
 import java.util.Set;
 
 @Data
-public class ProductResponseDto {
+public class ProductResponseDto implements VersionedProduct {
     private Long id;
     private String name;
     private String description;
@@ -19,6 +20,10 @@ public class ProductResponseDto {
     private LocalDateTime updatedAt;
     private Boolean active;
 
+    // Fica no DTO (e no cache) para os validadores HTTP; não faz parte do corpo
+    @JsonIgnore
+    private Long version;
+
     private CategoryDto category;
     private Set<TagDto> tags;
     private List<ReviewDto> reviews;
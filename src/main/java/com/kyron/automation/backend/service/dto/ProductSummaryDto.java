@@ -0,0 +1,40 @@
+package com.kyron.automation.backend.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Representação enxuta para listagens (view=summary): sem reviews, descrição nem especificações
+@Data
+@NoArgsConstructor
+public class ProductSummaryDto implements VersionedProduct {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String categoryName;
+    private List<String> tagNames;
+    private String primaryImageUrl;
+    private Double averageRating;
+    private Integer totalReviews;
+    @JsonIgnore
+    private Long version;
+
+    // Usado pela expressão de construtor da consulta JPQL; as tags chegam numa segunda consulta
+    public ProductSummaryDto(Long id, String name, BigDecimal price, Integer stockQuantity, String categoryName,
+                             String primaryImageUrl, Double averageRating, Long totalReviews, Long version) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.categoryName = categoryName;
+        this.tagNames = List.of();
+        this.primaryImageUrl = primaryImageUrl;
+        this.averageRating = averageRating != null ? averageRating : 0.0;
+        this.totalReviews = totalReviews != null ? totalReviews.intValue() : 0;
+        this.version = version;
+    }
+}
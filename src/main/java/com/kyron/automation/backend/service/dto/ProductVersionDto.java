@@ -0,0 +1,17 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Validadores HTTP de um produto: versão para o ETag e data da última alteração para o Last-Modified
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductVersionDto {
+    private Long productId;
+    private Long version;
+    private LocalDateTime lastModified;
+}
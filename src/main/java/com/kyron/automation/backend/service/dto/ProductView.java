@@ -0,0 +1,57 @@
+package com.kyron.automation.backend.service.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Forma dos itens nas respostas: SUMMARY (ProductSummaryDto), FULL (ProductResponseDto, com reviews)
+// ou só os campos pedidos em fields= (ProductFieldsDto)
+public final class ProductView {
+    public static final ProductView SUMMARY = new ProductView("summary", null);
+    public static final ProductView FULL = new ProductView("full", null);
+
+    private final String name;
+    private final Set<ProductField> fields;
+
+    private ProductView(String name, Set<ProductField> fields) {
+        this.name = name;
+        this.fields = fields;
+    }
+
+    public static ProductView parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "summary" -> SUMMARY;
+            case "full" -> FULL;
+            default -> throw new IllegalArgumentException("Unsupported view: " + value + ". Allowed: summary, full");
+        };
+    }
+
+    // fields= tem precedência sobre view=
+    public static ProductView parse(String view, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return parse(view);
+        }
+        return of(ProductField.parse(fields));
+    }
+
+    public static ProductView of(Set<ProductField> fields) {
+        return new ProductView("fields", Collections.unmodifiableSet(EnumSet.copyOf(fields)));
+    }
+
+    public boolean isSparse() {
+        return fields != null;
+    }
+
+    public Set<ProductField> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return isSparse() ? name + fields : name;
+    }
+}
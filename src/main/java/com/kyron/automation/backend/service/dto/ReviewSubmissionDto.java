@@ -0,0 +1,24 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Situação de uma review recebida pela ingestão assíncrona, consultável pelo trackingId
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewSubmissionDto {
+    public enum Status {
+        PENDING,
+        WRITTEN,
+        REJECTED,
+        FAILED
+    }
+
+    private String trackingId;
+    private Long productId;
+    private Status status;
+    private Long reviewId;
+    private String error;
+}
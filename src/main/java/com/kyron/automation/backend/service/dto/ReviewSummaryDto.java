@@ -4,10 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class ReviewSummaryDto {
     private Double averageRating;
     private Integer totalReviews;
+    // Quantidade de reviews por nota (1 a 5)
+    private Map<Integer, Long> ratingDistribution;
 }
@@ -0,0 +1,18 @@
+package com.kyron.automation.backend.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchFacetsDto {
+    private List<FacetBucketDto> categories;
+    private List<FacetBucketDto> tags;
+    private List<FacetBucketDto> priceRanges;
+    // Nota média arredondada para baixo; produtos sem review não entram
+    private List<FacetBucketDto> ratings;
+}
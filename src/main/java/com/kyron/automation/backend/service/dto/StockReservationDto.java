@@ -0,0 +1,18 @@
+package com.kyron.automation.backend.service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.kyron.automation.backend.service.model.StockReservation;
+
+import lombok.Data;
+
+@Data
+public class StockReservationDto {
+    private UUID id;
+    private StockReservation.Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private List<StockReservationItemDto> items;
+}
@@ -0,0 +1,13 @@
+package com.kyron.automation.backend.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class StockReservationRequestDto {
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid StockReservationItemDto> items;
+}
@@ -0,0 +1,8 @@
+package com.kyron.automation.backend.service.dto;
+
+// Itens de listagem de produto: id e versão bastam para o ETag da página
+public interface VersionedProduct {
+    Long getId();
+
+    Long getVersion();
+}
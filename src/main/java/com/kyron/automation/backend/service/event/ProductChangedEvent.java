@@ -0,0 +1,21 @@
+package com.kyron.automation.backend.service.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Publicado quando dados de produtos mudam; ouvintes reagem após o commit
+public class ProductChangedEvent {
+    private final Set<Long> productIds;
+
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this.productIds = Set.copyOf(productIds);
+    }
+
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(Set.of(productId));
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+}
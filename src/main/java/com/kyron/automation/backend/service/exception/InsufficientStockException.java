@@ -0,0 +1,15 @@
+package com.kyron.automation.backend.service.exception;
+
+// Baixa de estoque recusada: o produto existe, mas não tem a quantidade pedida (409)
+public class InsufficientStockException extends RuntimeException {
+    private final Long productId;
+
+    public InsufficientStockException(Long productId, int requested) {
+        super("Insufficient stock for product " + productId + ": requested " + requested);
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.kyron.automation.backend.service.exception;
+
+// Confirmação ou liberação de uma reserva que já saiu de ACTIVE (confirmada, liberada ou expirada): 409
+public class ReservationNotActiveException extends RuntimeException {
+    public ReservationNotActiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.kyron.automation.backend.service.exception;
+
+// Fila de ingestão de reviews cheia: o cliente deve tentar de novo mais tarde (429)
+public class ReviewQueueFullException extends RuntimeException {
+    public ReviewQueueFullException(String message) {
+        super(message);
+    }
+}
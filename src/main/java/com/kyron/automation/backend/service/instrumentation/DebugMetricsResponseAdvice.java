@@ -0,0 +1,53 @@
+package com.kyron.automation.backend.service.instrumentation;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Chamado logo antes da serialização do corpo: marca o início da escrita e, em modo debug,
+// expõe os números da requisição nos headers (Server-Timing aparece no devtools do navegador)
+@ControllerAdvice
+public class DebugMetricsResponseAdvice implements ResponseBodyAdvice<Object> {
+    private final boolean debugHeaders;
+    private final int nPlusOneThreshold;
+
+    public DebugMetricsResponseAdvice(@Value("${kyron.instrumentation.debug-headers:false}") boolean debugHeaders,
+                                      @Value("${kyron.instrumentation.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.debugHeaders = debugHeaders;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return body;
+        }
+        metrics.markBodyWriteStart();
+        if (debugHeaders) {
+            Map.Entry<String, Integer> repeated = metrics.mostRepeatedStatement();
+            boolean nPlusOne = repeated != null && repeated.getValue() >= nPlusOneThreshold;
+            response.getHeaders().add("Server-Timing", String.format(Locale.ROOT,
+                    "handler;dur=%.2f, jdbc;dur=%.2f", metrics.getHandlerNanos() / 1e6, metrics.getJdbcNanos() / 1e6));
+            response.getHeaders().add("X-Debug-Metrics", "sql=" + metrics.getStatements()
+                    + ", entities=" + metrics.getEntitiesLoaded()
+                    + ", n-plus-one=" + nPlusOne);
+        }
+        return body;
+    }
+}
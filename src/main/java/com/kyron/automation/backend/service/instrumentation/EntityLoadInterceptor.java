@@ -0,0 +1,17 @@
+package com.kyron.automation.backend.service.instrumentation;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+// Interceptor do Hibernate (um por SessionFactory, sem estado) que conta entidades hidratadas
+public class EntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.recordEntityLoad();
+        }
+        return false;
+    }
+}
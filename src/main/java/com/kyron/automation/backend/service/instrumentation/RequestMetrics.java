@@ -0,0 +1,94 @@
+package com.kyron.automation.backend.service.instrumentation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Contadores da requisição corrente, presos à thread que a atende.
+// Fora de uma requisição (jobs, startup) current() devolve null e nada é contado.
+public final class RequestMetrics {
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final boolean trackRepeatedStatements;
+    private long bodyWriteStartNanos;
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+    private final Map<String, Integer> statementsBySql = new HashMap<>();
+
+    private RequestMetrics(boolean trackRepeatedStatements) {
+        this.trackRepeatedStatements = trackRepeatedStatements;
+    }
+
+    static RequestMetrics start(boolean trackRepeatedStatements) {
+        RequestMetrics metrics = new RequestMetrics(trackRepeatedStatements);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // Só entram na detecção de N+1 consultas parametrizadas por linha. Ficam de fora lotes JDBC,
+    // chamadas sem parâmetro (ex.: próximo valor da sequence) e consultas por lista de ids (IN),
+    // que já são carregamento em lote
+    void recordStatement(String sql, long elapsedNanos, boolean batch) {
+        statements++;
+        jdbcNanos += elapsedNanos;
+        if (trackRepeatedStatements && !batch && sql.indexOf('?') >= 0 && !sql.contains(" in (?,")) {
+            statementsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordEntityLoad() {
+        entitiesLoaded++;
+    }
+
+    void markBodyWriteStart() {
+        if (bodyWriteStartNanos == 0) {
+            bodyWriteStartNanos = System.nanoTime();
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Tempo até o início da escrita do corpo (handler + serviço + banco)
+    long getHandlerNanos() {
+        return (bodyWriteStartNanos == 0 ? System.nanoTime() : bodyWriteStartNanos) - startNanos;
+    }
+
+    // Serialização e escrita do corpo; zero quando não houve corpo via conversor
+    long getBodyWriteNanos() {
+        return bodyWriteStartNanos == 0 ? 0 : System.nanoTime() - bodyWriteStartNanos;
+    }
+
+    // Mesmo SQL parametrizado repetido muitas vezes na requisição: sintoma clássico de N+1
+    Map.Entry<String, Integer> mostRepeatedStatement() {
+        Map.Entry<String, Integer> worst = null;
+        for (Map.Entry<String, Integer> entry : statementsBySql.entrySet()) {
+            if (worst == null || entry.getValue() > worst.getValue()) {
+                worst = entry;
+            }
+        }
+        return worst;
+    }
+}
@@ -0,0 +1,100 @@
+package com.kyron.automation.backend.service.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Abre os contadores no início de cada chamada a um controller e publica no Micrometer ao final:
+// latência (total, handler e escrita do corpo), statements SQL, tempo JDBC e entidades carregadas
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private final MeterRegistry registry;
+    private final int nPlusOneThreshold;
+
+    public RequestMetricsInterceptor(MeterRegistry registry, int nPlusOneThreshold) {
+        this.registry = registry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            // N+1 só é procurado em leituras; escritas em lote (importação) repetem consultas por chunk
+            String method = request.getMethod();
+            RequestMetrics.start("GET".equals(method) || "HEAD".equals(method));
+        }
+        return true;
+    }
+
+    // Requisições assíncronas (export em streaming) não são medidas por este caminho
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        RequestMetrics.clear();
+
+        String handlerName = handlerName(handlerMethod);
+        String status = String.valueOf(response.getStatus());
+        Timer.builder("kyron.request.latency")
+                .tags("handler", handlerName, "status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(metrics.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("kyron.request.handler.time")
+                .tag("handler", handlerName)
+                .register(registry)
+                .record(metrics.getHandlerNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("kyron.request.body.write.time")
+                .tag("handler", handlerName)
+                .register(registry)
+                .record(metrics.getBodyWriteNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("kyron.request.jdbc.time")
+                .tag("handler", handlerName)
+                .register(registry)
+                .record(metrics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("kyron.request.sql.statements")
+                .tag("handler", handlerName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(metrics.getStatements());
+        DistributionSummary.builder("kyron.request.entities.loaded")
+                .tag("handler", handlerName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(metrics.getEntitiesLoaded());
+
+        Map.Entry<String, Integer> repeated = metrics.mostRepeatedStatement();
+        if (repeated != null && repeated.getValue() >= nPlusOneThreshold) {
+            Counter.builder("kyron.request.n_plus_one")
+                    .tag("handler", handlerName)
+                    .register(registry)
+                    .increment();
+            log.warn("Possible N+1 in {}: statement executed {} times in one request: {}",
+                    handlerName, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,30 @@
+package com.kyron.automation.backend.service.instrumentation;
+
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Recebe cada execução JDBC do datasource-proxy e soma na requisição corrente
+public class SqlMetricsListener implements QueryExecutionListener {
+    private static final String START_NANOS = "kyron.startNanos";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestMetrics.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestMetrics metrics = RequestMetrics.current();
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (metrics == null || startNanos == null) {
+            return;
+        }
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        metrics.recordStatement(sql, System.nanoTime() - startNanos, execInfo.isBatch());
+    }
+}
@@ -0,0 +1,34 @@
+package com.kyron.automation.backend.service.mapper;
+
+import com.kyron.automation.backend.service.dto.CategoryDto;
+import com.kyron.automation.backend.service.model.Category;
+
+// Conversões Category <-> CategoryDto com acesso direto aos campos, sem reflexão
+public final class CategoryMapper {
+
+    private CategoryMapper() {
+    }
+
+    public static CategoryDto toDto(Category category) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setDescription(category.getDescription());
+        dto.setActive(category.getActive());
+        return dto;
+    }
+
+    public static Category toEntity(CategoryDto dto) {
+        Category category = new Category();
+        category.setId(dto.getId());
+        updateEntity(dto, category);
+        return category;
+    }
+
+    // Atualização completa, preservando o id
+    public static void updateEntity(CategoryDto dto, Category category) {
+        category.setName(dto.getName());
+        category.setDescription(dto.getDescription());
+        category.setActive(dto.getActive());
+    }
+}
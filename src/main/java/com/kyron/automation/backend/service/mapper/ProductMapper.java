@@ -0,0 +1,135 @@
+package com.kyron.automation.backend.service.mapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.kyron.automation.backend.service.dto.ProductRequestDto;
+import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.dto.TagDto;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+import com.kyron.automation.backend.service.model.Review;
+import com.kyron.automation.backend.service.model.Tag;
+
+// Conversões de Product sem reflexão. O DTO de resposta é só leitura (vai para o cache e para o JSON),
+// então as coleções dele são imutáveis e do tamanho exato, em vez de cópias defensivas mutáveis
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    public static ProductResponseDto toResponseDto(Product product, ProductRatingSummary rating) {
+        ProductResponseDto dto = new ProductResponseDto();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setCreatedAt(product.getCreatedAt());
+        dto.setUpdatedAt(product.getUpdatedAt());
+        dto.setActive(product.getActive());
+        dto.setVersion(product.getVersion());
+        if (product.getCategory() != null) {
+            dto.setCategory(CategoryMapper.toDto(product.getCategory()));
+        }
+        dto.setTags(toTagDtos(product.getTags()));
+        dto.setReviews(toReviewDtos(product.getReviews()));
+        dto.setImageUrls(immutableCopy(product.getImageUrls()));
+        dto.setSpecifications(immutableCopy(product.getSpecifications()));
+        if (rating != null) {
+            dto.setAverageRating(rating.getAverageRating());
+            dto.setTotalReviews(rating.getTotalReviews().intValue());
+        } else {
+            dto.setAverageRating(0.0);
+            dto.setTotalReviews(0);
+        }
+        return dto;
+    }
+
+    // Coleções do pedido entram nas coleções mutáveis da própria entidade, que o Hibernate gerencia
+    public static Product toEntity(ProductRequestDto request) {
+        Product product = new Product();
+        copyScalars(request, product);
+        product.setStockQuantity(request.getStockQuantity());
+        if (request.getImageUrls() != null) {
+            product.getImageUrls().addAll(request.getImageUrls());
+        }
+        if (request.getSpecifications() != null) {
+            product.getSpecifications().putAll(request.getSpecifications());
+        }
+        return product;
+    }
+
+    // Atualização completa (PUT): imagens e especificações ausentes no pedido ficam vazias. O estoque
+    // informado vale só na criação; depois ele muda apenas por delta (PATCH /{id}/stock e reservas), e o
+    // ProductService recusa um PUT que tente mudá-lo
+    public static void updateEntity(ProductRequestDto request, Product product) {
+        copyScalars(request, product);
+        product.getImageUrls().clear();
+        if (request.getImageUrls() != null) {
+            product.getImageUrls().addAll(request.getImageUrls());
+        }
+        product.getSpecifications().clear();
+        if (request.getSpecifications() != null) {
+            product.getSpecifications().putAll(request.getSpecifications());
+        }
+    }
+
+    private static void copyScalars(ProductRequestDto request, Product product) {
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+    }
+
+    private static Set<TagDto> toTagDtos(Set<Tag> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Set.of();
+        }
+        TagDto[] dtos = new TagDto[tags.size()];
+        int i = 0;
+        for (Tag tag : tags) {
+            dtos[i++] = TagMapper.toDto(tag);
+        }
+        // Tags distintas por id geram DTOs distintos; Set.of não aloca um nó por elemento
+        return Set.of(dtos);
+    }
+
+    private static List<ReviewDto> toReviewDtos(List<Review> reviews) {
+        if (reviews == null || reviews.isEmpty()) {
+            return List.of();
+        }
+        ReviewDto[] dtos = new ReviewDto[reviews.size()];
+        int i = 0;
+        for (Review review : reviews) {
+            dtos[i++] = ReviewMapper.toDto(review);
+        }
+        return List.of(dtos);
+    }
+
+    // List.copyOf e Map.copyOf rejeitam nulos; um pedido pode trazê-los, mas eles não chegam ao banco
+    private static <T> List<T> immutableCopy(Collection<T> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        return values.contains(null)
+                ? values.stream().filter(Objects::nonNull).toList()
+                : List.copyOf(values);
+    }
+
+    private static Map<String, String> immutableCopy(Map<String, String> values) {
+        if (values == null || values.isEmpty()) {
+            return Map.of();
+        }
+        if (values.containsValue(null)) {
+            Map<String, String> withoutNulls = new HashMap<>(values);
+            withoutNulls.values().removeIf(Objects::isNull);
+            return Map.copyOf(withoutNulls);
+        }
+        return Map.copyOf(values);
+    }
+}
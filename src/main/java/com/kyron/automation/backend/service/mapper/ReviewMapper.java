@@ -0,0 +1,32 @@
+package com.kyron.automation.backend.service.mapper;
+
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.model.Review;
+
+// Conversões Review <-> ReviewDto com acesso direto aos campos, sem reflexão
+public final class ReviewMapper {
+
+    private ReviewMapper() {
+    }
+
+    public static ReviewDto toDto(Review review) {
+        ReviewDto dto = new ReviewDto();
+        dto.setId(review.getId());
+        dto.setAuthorName(review.getAuthorName());
+        dto.setComment(review.getComment());
+        dto.setRating(review.getRating());
+        dto.setCreatedAt(review.getCreatedAt());
+        return dto;
+    }
+
+    // O produto é associado por quem chama; createdAt é definido no @PrePersist
+    public static Review toEntity(ReviewDto dto) {
+        Review review = new Review();
+        review.setId(dto.getId());
+        review.setAuthorName(dto.getAuthorName());
+        review.setComment(dto.getComment());
+        review.setRating(dto.getRating());
+        review.setCreatedAt(dto.getCreatedAt());
+        return review;
+    }
+}
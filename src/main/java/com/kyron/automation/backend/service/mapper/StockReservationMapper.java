@@ -0,0 +1,25 @@
+package com.kyron.automation.backend.service.mapper;
+
+import java.util.List;
+
+import com.kyron.automation.backend.service.dto.StockReservationDto;
+import com.kyron.automation.backend.service.dto.StockReservationItemDto;
+import com.kyron.automation.backend.service.model.StockReservation;
+
+public final class StockReservationMapper {
+
+    private StockReservationMapper() {
+    }
+
+    public static StockReservationDto toDto(StockReservation reservation) {
+        StockReservationDto dto = new StockReservationDto();
+        dto.setId(reservation.getId());
+        dto.setStatus(reservation.getStatus());
+        dto.setCreatedAt(reservation.getCreatedAt());
+        dto.setExpiresAt(reservation.getExpiresAt());
+        dto.setItems(reservation.getItems().stream()
+                .map(item -> new StockReservationItemDto(item.getProductId(), item.getQuantity()))
+                .toList());
+        return dto;
+    }
+}
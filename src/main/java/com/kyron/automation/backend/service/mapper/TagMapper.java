@@ -0,0 +1,30 @@
+package com.kyron.automation.backend.service.mapper;
+
+import com.kyron.automation.backend.service.dto.TagDto;
+import com.kyron.automation.backend.service.model.Tag;
+
+// Conversões Tag <-> TagDto com acesso direto aos campos, sem reflexão
+public final class TagMapper {
+
+    private TagMapper() {
+    }
+
+    public static TagDto toDto(Tag tag) {
+        TagDto dto = new TagDto();
+        dto.setId(tag.getId());
+        dto.setName(tag.getName());
+        return dto;
+    }
+
+    public static Tag toEntity(TagDto dto) {
+        Tag tag = new Tag();
+        tag.setId(dto.getId());
+        updateEntity(dto, tag);
+        return tag;
+    }
+
+    // Atualização completa, preservando o id
+    public static void updateEntity(TagDto dto, Tag tag) {
+        tag.setName(dto.getName());
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,13 +16,26 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_category_active", columnList = "category_id, active")
+})
+@NamedEntityGraph(name = Product.GRAPH_CATEGORY_AND_TAGS, attributeNodes = {
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode("tags")
+})
+// UPDATE só com as colunas alteradas: salvar o produto não regrava o estoque lido no início da
+// transação por cima das baixas condicionais feitas em paralelo pelo StockService
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
+    public static final String GRAPH_CATEGORY_AND_TAGS = "Product.categoryAndTags";
+
+    // Sequence com alocação em bloco para permitir inserts em lote (IDENTITY desativa o batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,6 +54,14 @@ public class Product {
 
     private LocalDateTime updatedAt;
 
+    // Sobe a cada alteração do produto ou das coleções que ele possui (tags, imagens, especificações).
+    // Baixas de estoque, reviews e renomeações de categoria/tag fazem UPDATE em massa e sobem a versão
+    // explicitamente (ProductRepository). É a base do ETag das leituras HTTP
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Column(nullable = false)
     private Boolean active;
 
@@ -50,15 +73,18 @@ public class Product {
     @JoinTable(
         name = "product_tags",
         joinColumns = @JoinColumn(name = "product_id"),
-        inverseJoinColumns = @JoinColumn(name = "tag_id")
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "idx_product_tags_tag_product", columnList = "tag_id, product_id")
     )
     private Set<Tag> tags = new HashSet<>();
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews = new ArrayList<>();
 
+    // Lista ordenada: a imagem de posição 0 é a principal, usada na listagem resumida
     @ElementCollection
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "image_order")
     @Column(name = "image_url")
     private List<String> imageUrls = new ArrayList<>();
 
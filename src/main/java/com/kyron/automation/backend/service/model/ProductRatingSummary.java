@@ -0,0 +1,61 @@
+package com.kyron.automation.backend.service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "product_rating_summary", indexes = {
+    @Index(name = "idx_rating_summary_average", columnList = "average_rating, product_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingSummary {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Double averageRating = 0.0;
+
+    @Column(nullable = false)
+    private Long totalReviews = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Long oneStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long twoStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long threeStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long fourStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long fiveStarCount = 0L;
+
+    public ProductRatingSummary(Long productId) {
+        this.productId = productId;
+    }
+
+    public void addRating(int rating) {
+        totalReviews++;
+        ratingSum += rating;
+        averageRating = (double) ratingSum / totalReviews;
+        switch (rating) {
+            case 1 -> oneStarCount++;
+            case 2 -> twoStarCount++;
+            case 3 -> threeStarCount++;
+            case 4 -> fourStarCount++;
+            case 5 -> fiveStarCount++;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+}
@@ -7,13 +7,18 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_product_created", columnList = "product_id, created_at, id"),
+    @Index(name = "idx_reviews_product_rating", columnList = "product_id, rating, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Review {
+    // Sequence com alocação em bloco para que a ingestão em lote possa agrupar os inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,54 @@
+package com.kyron.automation.backend.service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Livro-razão do contador de SKUs quentes: estoque que uma instância tirou do produto para vender da
+// memória (leased) e quanto disso ela já informou como vendido (consumed). A diferença de um lease
+// que não foi fechado é o estoque em poder da instância
+@Entity
+@Table(name = "stock_leases", indexes = {
+    @Index(name = "idx_stock_leases_status_heartbeat", columnList = "status, heartbeat_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLease {
+    public enum Status {
+        OPEN,
+        CLOSED,
+        ABANDONED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false, length = 36)
+    private String instanceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer leased;
+
+    @Column(nullable = false)
+    private Integer consumed;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime closedAt;
+}
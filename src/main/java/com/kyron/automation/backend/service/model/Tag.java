@@ -3,15 +3,21 @@ package com.kyron.automation.backend.service.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
+// Igualdade pelo id: referências (proxies) podem entrar em Sets sem serem inicializadas
 @Entity
 @Table(name = "tags")
+@BatchSize(size = 50)
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Tag {
     @Id
+    @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -0,0 +1,12 @@
+package com.kyron.automation.backend.service.repository;
+
+import java.math.BigDecimal;
+
+public interface ProductIndexProjection {
+    Long getProductId();
+    String getName();
+    String getDescription();
+    Long getCategoryId();
+    BigDecimal getPrice();
+    Boolean getActive();
+}
@@ -0,0 +1,6 @@
+package com.kyron.automation.backend.service.repository;
+
+public interface ProductRatingProjection {
+    Long getProductId();
+    Double getAverageRating();
+}
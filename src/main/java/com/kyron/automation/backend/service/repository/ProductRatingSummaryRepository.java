@@ -0,0 +1,81 @@
+package com.kyron.automation.backend.service.repository;
+
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    // Atualização atômica no próprio banco, sem ler a linha antes
+    @Modifying
+    @Query("UPDATE ProductRatingSummary s SET " +
+           "s.totalReviews = s.totalReviews + 1, " +
+           "s.ratingSum = s.ratingSum + :rating, " +
+           "s.averageRating = (s.ratingSum + :rating) * 1.0 / (s.totalReviews + 1), " +
+           "s.oneStarCount = s.oneStarCount + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+           "s.twoStarCount = s.twoStarCount + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+           "s.threeStarCount = s.threeStarCount + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+           "s.fourStarCount = s.fourStarCount + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+           "s.fiveStarCount = s.fiveStarCount + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+           "WHERE s.productId = :productId")
+    int incrementRating(@Param("productId") Long productId, @Param("rating") int rating);
+
+    // Soma de uma vez as notas de um lote de reviews do mesmo produto
+    @Modifying
+    @Query("UPDATE ProductRatingSummary s SET " +
+           "s.totalReviews = s.totalReviews + :#{#delta.totalReviews}, " +
+           "s.ratingSum = s.ratingSum + :#{#delta.ratingSum}, " +
+           "s.averageRating = (s.ratingSum + :#{#delta.ratingSum}) * 1.0 / (s.totalReviews + :#{#delta.totalReviews}), " +
+           "s.oneStarCount = s.oneStarCount + :#{#delta.oneStarCount}, " +
+           "s.twoStarCount = s.twoStarCount + :#{#delta.twoStarCount}, " +
+           "s.threeStarCount = s.threeStarCount + :#{#delta.threeStarCount}, " +
+           "s.fourStarCount = s.fourStarCount + :#{#delta.fourStarCount}, " +
+           "s.fiveStarCount = s.fiveStarCount + :#{#delta.fiveStarCount} " +
+           "WHERE s.productId = :#{#delta.productId}")
+    int incrementBy(@Param("delta") ProductRatingSummary delta);
+
+    // Serializa a criação da linha de resumo na transação de quem grava: a segunda escrita concorrente
+    // espera o commit da primeira e então já enxerga a linha
+    @Query(nativeQuery = true, value = "SELECT id FROM products WHERE id = :productId FOR UPDATE")
+    Long lockProduct(@Param("productId") Long productId);
+
+    // Linha zerada para a primeira nota do produto; não faz nada se ela já existe
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO product_rating_summary (product_id, total_reviews, rating_sum, average_rating, " +
+           "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count) " +
+           "SELECT :productId, 0, 0, 0, 0, 0, 0, 0, 0 FROM (VALUES (1)) " +
+           "WHERE NOT EXISTS (SELECT 1 FROM product_rating_summary WHERE product_id = :productId)")
+    int insertEmpty(@Param("productId") Long productId);
+
+    // Usada pelo índice de busca: colunas, não entidades, para nunca vir do contexto de persistência
+    @Query("SELECT s.productId AS productId, s.averageRating AS averageRating " +
+           "FROM ProductRatingSummary s WHERE s.productId IN :ids")
+    List<ProductRatingProjection> findAverageRatingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Estado bruto de cada resumo, para a reconstrução saber quais produtos mudaram (linhas, não
+    // entidades: o contexto de persistência não pode devolver o estado de antes)
+    @Query(nativeQuery = true, value =
+           "SELECT product_id, total_reviews, rating_sum, average_rating, one_star_count, two_star_count, " +
+           "three_star_count, four_star_count, five_star_count FROM product_rating_summary")
+    List<Object[]> findAllStates();
+
+    // Reconstrói todos os resumos a partir da tabela reviews
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO product_rating_summary (product_id, total_reviews, rating_sum, average_rating, " +
+           "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count) " +
+           "SELECT product_id, COUNT(*), SUM(rating), AVG(CAST(rating AS DOUBLE PRECISION)), " +
+           "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END) " +
+           "FROM reviews GROUP BY product_id")
+    int insertFromReviews();
+}
@@ -1,18 +1,87 @@
 package com.kyron.automation.backend.service.repository;
 
 import com.kyron.automation.backend.service.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByActiveTrue();
-    
-    @Query("SELECT p FROM Product p WHERE p.price >= :minPrice AND p.price <= :maxPrice AND p.active = true")
-    List<Product> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice);
-    
-    List<Product> findByNameContainingIgnoreCase(String name);
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
+    boolean existsByIdAndActiveTrue(Long id);
+
+    // Baixa condicional numa única instrução: sem leitura prévia, e o lock da linha dura só até o commit
+    // da transação curta que a executa. Zero linhas alteradas = sem estoque suficiente ou produto inativo
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = :now, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND p.active = true AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = COALESCE(p.stockQuantity, 0) + :quantity, p.updatedAt = :now, " +
+           "p.version = p.version + 1 " +
+           "WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Integer findStockQuantityById(@Param("id") Long id);
+
+    // Mudanças que não passam pela entidade (reviews, categoria, tag) mas alteram a representação do produto
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1, p.updatedAt = :now WHERE p.id IN :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1, p.updatedAt = :now WHERE p.category.id = :categoryId")
+    int touchByCategory(@Param("categoryId") Long categoryId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.id IN (SELECT pt.id FROM Product pt JOIN pt.tags t WHERE t.id = :tagId)")
+    int touchByTag(@Param("tagId") Long tagId, @Param("now") LocalDateTime now);
+
+    // Validadores HTTP (ETag e Last-Modified) sem carregar a entidade
+    @Query("SELECT p.version AS version, COALESCE(p.updatedAt, p.createdAt) AS lastModified FROM Product p WHERE p.id = :id")
+    Optional<ProductVersionProjection> findVersionById(@Param("id") Long id);
+
+    // Consultas usadas pelo índice de busca
+    @Query("SELECT p.id FROM Product p WHERE p.active = true AND p.id > :afterId ORDER BY p.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT p.id AS productId, p.name AS name, p.description AS description, " +
+           "p.category.id AS categoryId, p.price AS price, p.active AS active " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<ProductIndexProjection> findIndexFieldsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS productId, t.id AS tagId, t.name AS name FROM Product p JOIN p.tags t WHERE p.id IN :ids")
+    List<ProductTagProjection> findTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS productId, s AS value FROM Product p JOIN p.specifications s WHERE p.id IN :ids")
+    List<ProductValueProjection> findSpecificationValuesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Cursor no servidor para exportação: as linhas são lidas em blocos de fetch size
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.active = true ORDER BY p.id")
+    Stream<Product> streamByActiveTrue();
+
+    // Sincronização incremental: inclui produtos desativados para que o consumidor possa removê-los
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.createdAt >= :updatedSince OR p.updatedAt >= :updatedSince ORDER BY p.id")
+    Stream<Product> streamChangedSince(@Param("updatedSince") LocalDateTime updatedSince);
 }
@@ -0,0 +1,32 @@
+package com.kyron.automation.backend.service.repository;
+
+import com.kyron.automation.backend.service.dto.ProductField;
+import com.kyron.automation.backend.service.dto.ProductFieldsDto;
+import com.kyron.automation.backend.service.dto.ProductSummaryDto;
+import com.kyron.automation.backend.service.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+    // Apenas os ids dos produtos que atendem à Specification, sem carregar entidades
+    List<Long> findIds(Specification<Product> spec);
+
+    // Primeira fase da listagem paginada: só os ids da página, na ordem pedida
+    Page<Long> findIds(Specification<Product> spec, Pageable pageable);
+
+    // Segunda fase: carrega os produtos com categoria, tags, reviews, imagens e especificações
+    // em um número fixo de consultas por lista de ids, qualquer que seja o tamanho da página
+    List<Product> findAllWithAssociations(Collection<Long> ids);
+
+    // Segunda fase da view resumida: uma linha por produto e uma consulta para os nomes das tags
+    List<ProductSummaryDto> findSummaries(Collection<Long> ids);
+
+    // Segunda fase de fields=: só as colunas pedidas, e cada tabela de coleção, a categoria e o resumo
+    // de notas apenas quando algum campo deles foi pedido
+    List<ProductFieldsDto> findFields(Collection<Long> ids, Set<ProductField> fields);
+}
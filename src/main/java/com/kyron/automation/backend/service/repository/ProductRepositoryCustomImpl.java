@@ -0,0 +1,271 @@
+package com.kyron.automation.backend.service.repository;
+
+import com.kyron.automation.backend.service.dto.ProductField;
+import com.kyron.automation.backend.service.dto.ProductFieldsDto;
+import com.kyron.automation.backend.service.dto.ProductSummaryDto;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.dto.TagDto;
+import com.kyron.automation.backend.service.mapper.CategoryMapper;
+import com.kyron.automation.backend.service.mapper.ReviewMapper;
+import com.kyron.automation.backend.service.mapper.TagMapper;
+import com.kyron.automation.backend.service.model.Category;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.Review;
+import com.kyron.automation.backend.service.model.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    // Listas maiores (listagens sem paginação) são carregadas em blocos para limitar o tamanho do IN
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final EntityManager entityManager;
+
+    public ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root.get("id"))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Page<Long> findIds(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root.get("id"))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        // O COUNT só roda quando o total não pode ser deduzido da própria página
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(spec));
+    }
+
+    // Uma consulta com fetch join por coleção: juntar todas de uma vez multiplicaria as linhas
+    // (e duas listas no mesmo fetch geram MultipleBagFetchException). As consultas seguintes
+    // devolvem as mesmas instâncias gerenciadas e só inicializam a coleção que trazem.
+    @Override
+    public List<Product> findAllWithAssociations(Collection<Long> ids) {
+        return inChunks(ids, this::findChunkWithAssociations);
+    }
+
+    @Override
+    public List<ProductSummaryDto> findSummaries(Collection<Long> ids) {
+        return inChunks(ids, this::findChunkSummaries);
+    }
+
+    @Override
+    public List<ProductFieldsDto> findFields(Collection<Long> ids, Set<ProductField> fields) {
+        return inChunks(ids, chunk -> findChunkFields(chunk, fields));
+    }
+
+    private static <T> List<T> inChunks(Collection<Long> ids, Function<Collection<Long>, List<T>> loader) {
+        if (ids.size() <= MAX_IDS_PER_QUERY) {
+            return loader.apply(ids);
+        }
+        List<Long> all = new ArrayList<>(ids);
+        List<T> results = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += MAX_IDS_PER_QUERY) {
+            results.addAll(loader.apply(all.subList(from, Math.min(from + MAX_IDS_PER_QUERY, all.size()))));
+        }
+        return results;
+    }
+
+    private List<Product> findChunkWithAssociations(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Product> products = entityManager
+                .createQuery("SELECT p FROM Product p WHERE p.id IN :ids", Product.class)
+                .setParameter("ids", ids)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Product.GRAPH_CATEGORY_AND_TAGS))
+                .getResultList();
+        if (products.isEmpty()) {
+            return products;
+        }
+        fetchCollection("reviews", ids);
+        fetchCollection("imageUrls", ids);
+        fetchCollection("specifications", ids);
+        return products;
+    }
+
+    // A imagem principal é a de posição 0 na lista ordenada; produtos sem imagem ou sem notas vêm com nulos
+    private List<ProductSummaryDto> findChunkSummaries(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<ProductSummaryDto> summaries = entityManager.createQuery(
+                "SELECT new com.kyron.automation.backend.service.dto.ProductSummaryDto(" +
+                "p.id, p.name, p.price, p.stockQuantity, c.name, img, r.averageRating, r.totalReviews, p.version) " +
+                "FROM Product p LEFT JOIN p.category c LEFT JOIN p.imageUrls img ON INDEX(img) = 0 " +
+                "LEFT JOIN ProductRatingSummary r ON r.productId = p.id " +
+                "WHERE p.id IN :ids", ProductSummaryDto.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        Map<Long, List<String>> tagNames = new HashMap<>();
+        entityManager.createQuery(
+                "SELECT p.id, t.name FROM Product p JOIN p.tags t WHERE p.id IN :ids ORDER BY t.name", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> tagNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]));
+        for (ProductSummaryDto summary : summaries) {
+            List<String> names = tagNames.get(summary.getId());
+            if (names != null) {
+                summary.setTagNames(names);
+            }
+        }
+        return summaries;
+    }
+
+    // Id, versão e data da última alteração sempre vêm na linha (validadores HTTP); os demais campos de
+    // products entram no SELECT pelo nome do atributo, na ordem do enum
+    private List<ProductFieldsDto> findChunkFields(Collection<Long> ids, Set<ProductField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<ProductField> columns = fields.stream()
+                .filter(field -> field.getSource() == ProductField.Source.PRODUCT && field != ProductField.ID)
+                .toList();
+        boolean category = fields.contains(ProductField.CATEGORY);
+        boolean rating = fields.contains(ProductField.AVERAGE_RATING) || fields.contains(ProductField.TOTAL_REVIEWS);
+
+        StringBuilder jpql = new StringBuilder("SELECT p.id, p.version, COALESCE(p.updatedAt, p.createdAt)");
+        columns.forEach(field -> jpql.append(", p.").append(field.getJsonName()));
+        if (category) {
+            jpql.append(", c");
+        }
+        if (rating) {
+            jpql.append(", r.averageRating, r.totalReviews");
+        }
+        jpql.append(" FROM Product p");
+        if (category) {
+            jpql.append(" LEFT JOIN p.category c");
+        }
+        if (rating) {
+            jpql.append(" LEFT JOIN ProductRatingSummary r ON r.productId = p.id");
+        }
+        jpql.append(" WHERE p.id IN :ids");
+
+        Map<Long, ProductFieldsDto> byId = new LinkedHashMap<>();
+        for (Object[] row : entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            ProductFieldsDto dto = new ProductFieldsDto();
+            dto.setId((Long) row[0]);
+            dto.setVersion((Long) row[1]);
+            dto.setLastModified((LocalDateTime) row[2]);
+            if (fields.contains(ProductField.ID)) {
+                dto.put(ProductField.ID, dto.getId());
+            }
+            int i = 3;
+            for (ProductField field : columns) {
+                dto.put(field, row[i++]);
+            }
+            if (category) {
+                dto.put(ProductField.CATEGORY, row[i] != null ? CategoryMapper.toDto((Category) row[i]) : null);
+                i++;
+            }
+            // Sem linha no resumo de notas o produto não tem reviews, como em ProductMapper
+            if (rating) {
+                if (fields.contains(ProductField.AVERAGE_RATING)) {
+                    dto.put(ProductField.AVERAGE_RATING, row[i] != null ? row[i] : 0.0);
+                }
+                if (fields.contains(ProductField.TOTAL_REVIEWS)) {
+                    dto.put(ProductField.TOTAL_REVIEWS, row[i + 1] != null ? ((Long) row[i + 1]).intValue() : 0);
+                }
+            }
+            byId.put(dto.getId(), dto);
+        }
+        if (byId.isEmpty()) {
+            return List.of();
+        }
+
+        if (fields.contains(ProductField.TAGS)) {
+            Map<Long, List<TagDto>> tags = new HashMap<>();
+            entityManager.createQuery(
+                    "SELECT p.id, t FROM Product p JOIN p.tags t WHERE p.id IN :ids ORDER BY t.name", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .forEach(row -> tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                            .add(TagMapper.toDto((Tag) row[1])));
+            byId.forEach((id, dto) -> dto.put(ProductField.TAGS, tags.getOrDefault(id, List.of())));
+        }
+        if (fields.contains(ProductField.REVIEWS)) {
+            Map<Long, List<ReviewDto>> reviews = new HashMap<>();
+            entityManager.createQuery(
+                    "SELECT r.product.id, r FROM Review r WHERE r.product.id IN :ids ORDER BY r.id", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .forEach(row -> reviews.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                            .add(ReviewMapper.toDto((Review) row[1])));
+            byId.forEach((id, dto) -> dto.put(ProductField.REVIEWS, reviews.getOrDefault(id, List.of())));
+        }
+        if (fields.contains(ProductField.IMAGE_URLS)) {
+            Map<Long, List<String>> images = new HashMap<>();
+            entityManager.createQuery(
+                    "SELECT p.id, img FROM Product p JOIN p.imageUrls img WHERE p.id IN :ids ORDER BY INDEX(img)", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .forEach(row -> images.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]));
+            byId.forEach((id, dto) -> dto.put(ProductField.IMAGE_URLS, images.getOrDefault(id, List.of())));
+        }
+        if (fields.contains(ProductField.SPECIFICATIONS)) {
+            Map<Long, Map<String, String>> specifications = new HashMap<>();
+            entityManager.createQuery(
+                    "SELECT p.id, KEY(s), VALUE(s) FROM Product p JOIN p.specifications s WHERE p.id IN :ids ORDER BY KEY(s)",
+                    Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .forEach(row -> specifications.computeIfAbsent((Long) row[0], id -> new LinkedHashMap<>())
+                            .put((String) row[1], (String) row[2]));
+            byId.forEach((id, dto) -> dto.put(ProductField.SPECIFICATIONS, specifications.getOrDefault(id, Map.of())));
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    private void fetchCollection(String attribute, Collection<Long> ids) {
+        entityManager.createQuery("SELECT p FROM Product p LEFT JOIN FETCH p." + attribute + " WHERE p.id IN :ids", Product.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.count(root)).where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kyron.automation.backend.service.repository;
+
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+import com.kyron.automation.backend.service.model.Tag;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Set;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    // Combina apenas os filtros informados; produtos inativos nunca entram na busca
+    public static Specification<Product> matching(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Long categoryId,
+            Set<Long> tagIds,
+            Double minRating) {
+        Specification<Product> spec = isActive();
+        if (name != null && !name.isBlank()) {
+            spec = spec.and(nameContains(name));
+        }
+        if (minPrice != null) {
+            spec = spec.and(priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.and(priceAtMost(maxPrice));
+        }
+        if (categoryId != null) {
+            spec = spec.and(inCategory(categoryId));
+        }
+        if (tagIds != null && !tagIds.isEmpty()) {
+            spec = spec.and(hasAnyTag(tagIds));
+        }
+        if (minRating != null) {
+            spec = spec.and(averageRatingAtLeast(minRating));
+        }
+        return spec;
+    }
+
+    public static Specification<Product> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("active"));
+    }
+
+    public static Specification<Product> nameContains(String name) {
+        String pattern = "%" + escapeLike(name.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    // Junção direta com product_tags para uma única tag: cada produto aparece no máximo uma vez e o banco
+    // pode partir do índice por tag_id em vez de avaliar um EXISTS para cada linha de products
+    public static Specification<Product> hasTag(Long tagId) {
+        return (root, query, cb) -> cb.equal(root.join("tags").get("id"), tagId);
+    }
+
+    // EXISTS sobre product_tags em vez de carregar as tags de cada produto
+    public static Specification<Product> hasAnyTag(Set<Long> tagIds) {
+        return (root, query, cb) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<Product> correlated = subquery.correlate(root);
+            Join<Product, Tag> tag = correlated.join("tags");
+            subquery.select(cb.literal(1)).where(tag.get("id").in(tagIds));
+            return cb.exists(subquery);
+        };
+    }
+
+    // Consulta o resumo desnormalizado (indexado por average_rating); produtos sem reviews têm média 0
+    public static Specification<Product> averageRatingAtLeast(Double minRating) {
+        return (root, query, cb) -> {
+            if (minRating <= 0) {
+                return cb.conjunction();
+            }
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<ProductRatingSummary> summary = subquery.from(ProductRatingSummary.class);
+            subquery.select(cb.literal(1)).where(
+                    cb.equal(summary.get("productId"), root.get("id")),
+                    cb.greaterThanOrEqualTo(summary.get("averageRating"), minRating));
+            return cb.exists(subquery);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
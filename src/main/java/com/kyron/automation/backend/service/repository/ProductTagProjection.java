@@ -0,0 +1,7 @@
+package com.kyron.automation.backend.service.repository;
+
+public interface ProductTagProjection {
+    Long getProductId();
+    Long getTagId();
+    String getName();
+}
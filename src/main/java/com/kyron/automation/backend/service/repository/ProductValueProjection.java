@@ -0,0 +1,6 @@
+package com.kyron.automation.backend.service.repository;
+
+public interface ProductValueProjection {
+    Long getProductId();
+    String getValue();
+}
@@ -0,0 +1,8 @@
+package com.kyron.automation.backend.service.repository;
+
+import java.time.LocalDateTime;
+
+public interface ProductVersionProjection {
+    Long getVersion();
+    LocalDateTime getLastModified();
+}
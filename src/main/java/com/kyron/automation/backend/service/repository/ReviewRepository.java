@@ -1,18 +1,18 @@
 package com.kyron.automation.backend.service.repository;
 
 import com.kyron.automation.backend.service.model.Review;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-
-import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByProductId(Long productId);
-    
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.product.id = :productId")
-    Double getAverageRatingForProduct(@Param("productId") Long productId);
-    
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
-    Integer getReviewCountForProduct(@Param("productId") Long productId);
+    // Página por offset sem COUNT: o total vem do resumo de notas do produto
+    Slice<Review> findByProductId(Long productId, Pageable pageable);
+
+    // Keyset sobre (sortKey, id) apoiado nos índices compostos de reviews
+    Window<Review> findByProductId(Long productId, ScrollPosition position, Sort sort, Limit limit);
 }
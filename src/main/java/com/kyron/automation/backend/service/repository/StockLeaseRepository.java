@@ -0,0 +1,53 @@
+package com.kyron.automation.backend.service.repository;
+
+import com.kyron.automation.backend.service.model.StockLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockLeaseRepository extends JpaRepository<StockLease, Long> {
+
+    // Só a instância dona altera leased/consumed, e só enquanto o lease não foi fechado. Um lease marcado
+    // como ABANDONED volta a OPEN se a dona ainda estiver viva: o abandono só registra a suspeita
+    @Modifying
+    @Query("UPDATE StockLease l SET l.leased = l.leased + :quantity, l.heartbeatAt = :now, l.status = :open " +
+           "WHERE l.id = :id AND l.status <> :closed")
+    int extend(@Param("id") Long id,
+               @Param("quantity") int quantity,
+               @Param("now") LocalDateTime now,
+               @Param("open") StockLease.Status open,
+               @Param("closed") StockLease.Status closed);
+
+    @Modifying
+    @Query("UPDATE StockLease l SET l.consumed = :consumed, l.heartbeatAt = :now, l.status = :open " +
+           "WHERE l.id = :id AND l.status <> :closed")
+    int recordConsumed(@Param("id") Long id,
+                       @Param("consumed") int consumed,
+                       @Param("now") LocalDateTime now,
+                       @Param("open") StockLease.Status open,
+                       @Param("closed") StockLease.Status closed);
+
+    @Modifying
+    @Query("UPDATE StockLease l SET l.consumed = :consumed, l.heartbeatAt = :now, l.closedAt = :now, l.status = :closed " +
+           "WHERE l.id = :id AND l.status <> :closed")
+    int close(@Param("id") Long id,
+              @Param("consumed") int consumed,
+              @Param("now") LocalDateTime now,
+              @Param("closed") StockLease.Status closed);
+
+    @Query("SELECT l FROM StockLease l WHERE l.status = :status AND l.heartbeatAt < :before AND l.instanceId <> :instanceId")
+    List<StockLease> findStale(@Param("status") StockLease.Status status,
+                               @Param("before") LocalDateTime before,
+                               @Param("instanceId") String instanceId);
+
+    @Modifying
+    @Query("UPDATE StockLease l SET l.status = :to WHERE l.id = :id AND l.status = :from AND l.heartbeatAt < :before")
+    int abandon(@Param("id") Long id,
+                @Param("before") LocalDateTime before,
+                @Param("from") StockLease.Status from,
+                @Param("to") StockLease.Status to);
+}
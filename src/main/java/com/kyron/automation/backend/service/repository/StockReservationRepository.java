@@ -0,0 +1,34 @@
+package com.kyron.automation.backend.service.repository;
+
+import com.kyron.automation.backend.service.model.StockReservation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    // Transições condicionais: entre confirmação, liberação e expiração concorrentes só uma altera a linha
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") StockReservation.Status from,
+                   @Param("to") StockReservation.Status to);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from AND r.expiresAt > :now")
+    int transitionIfNotExpired(@Param("id") UUID id,
+                               @Param("from") StockReservation.Status from,
+                               @Param("to") StockReservation.Status to,
+                               @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = :status AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<UUID> findIdsExpiredBy(@Param("status") StockReservation.Status status,
+                                @Param("now") LocalDateTime now,
+                                Limit limit);
+}
@@ -9,4 +9,5 @@ import java.util.Set;
 public interface TagRepository extends JpaRepository<Tag, Long> {
     List<Tag> findByNameContainingIgnoreCase(String name);
     Set<Tag> findByIdIn(Set<Long> ids);
+    long countByIdIn(Set<Long> ids);
 }
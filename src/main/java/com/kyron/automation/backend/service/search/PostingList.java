@@ -0,0 +1,51 @@
+package com.kyron.automation.backend.service.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Documentos (ordinais crescentes) e frequências do termo em arrays primitivos
+final class PostingList {
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    // Remove documentos mortos e renumera os vivos; retorna false se a lista ficou vazia
+    boolean compact(BitSet liveDocs, int[] newOrdinals) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (liveDocs.get(docs[i])) {
+                docs[kept] = newOrdinals[docs[i]];
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        if (kept > 0 && kept < docs.length / 4) {
+            docs = Arrays.copyOf(docs, kept);
+            freqs = Arrays.copyOf(freqs, kept);
+        }
+        return kept > 0;
+    }
+}
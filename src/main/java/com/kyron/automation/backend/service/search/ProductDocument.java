@@ -0,0 +1,17 @@
+package com.kyron.automation.backend.service.search;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Campos de um produto usados na indexação: texto para a busca, valores para as facetas
+public record ProductDocument(
+        long productId,
+        String name,
+        String description,
+        List<String> tagNames,
+        List<String> specificationValues,
+        Long categoryId,
+        List<Long> tagIds,
+        BigDecimal price,
+        double averageRating) {
+}
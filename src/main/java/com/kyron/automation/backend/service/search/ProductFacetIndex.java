@@ -0,0 +1,210 @@
+package com.kyron.automation.backend.service.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kyron.automation.backend.service.dto.FacetBucketDto;
+import com.kyron.automation.backend.service.dto.SearchFacetsDto;
+
+// Valores por produto em arrays primitivos (categoria, tags, preço, nota) para contar facetas
+// em uma única passada sobre os ids que casaram com a busca
+@Component
+public class ProductFacetIndex {
+    private static final int NONE = -1;
+    private static final int[] NO_TAGS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long[] priceBandBounds;
+    private final String[] priceBandLabels;
+    private final int maxValues;
+
+    private final LongIntHashMap slotByProduct = new LongIntHashMap();
+    private int[] freeSlots = new int[64];
+    private int freeSlotCount;
+    private int slotCount;
+    private int[] categoryBySlot = new int[1024];
+    private int[][] tagsBySlot = new int[1024][];
+    private long[] priceCentsBySlot = new long[1024];
+    private byte[] starsBySlot = new byte[1024];
+
+    // Dicionários id -> ordinal para que as contagens fiquem em int[]
+    private final LongIntHashMap categoryOrdinals = new LongIntHashMap();
+    private long[] categoryIds = new long[64];
+    private final LongIntHashMap tagOrdinals = new LongIntHashMap();
+    private long[] tagIds = new long[64];
+
+    private volatile boolean ready;
+
+    public ProductFacetIndex(@Value("${kyron.search.facets.price-bands:25,50,100,250,500}") BigDecimal[] priceBands,
+                             @Value("${kyron.search.facets.max-values:20}") int maxValues) {
+        BigDecimal[] bands = priceBands.clone();
+        Arrays.sort(bands);
+        this.priceBandBounds = new long[bands.length];
+        this.priceBandLabels = new String[bands.length + 1];
+        for (int i = 0; i < bands.length; i++) {
+            priceBandBounds[i] = toCents(bands[i]);
+        }
+        for (int i = 0; i <= bands.length; i++) {
+            String from = i == 0 ? "*" : bands[i - 1].stripTrailingZeros().toPlainString();
+            String to = i == bands.length ? "*" : bands[i].stripTrailingZeros().toPlainString();
+            priceBandLabels[i] = from + "-" + to;
+        }
+        this.maxValues = maxValues;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public void index(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotByProduct.get(document.productId());
+            if (slot < 0) {
+                slot = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : slotCount++;
+                ensureSlotCapacity(slotCount);
+                slotByProduct.put(document.productId(), slot);
+            }
+            categoryBySlot[slot] = document.categoryId() == null ? NONE : categoryOrdinal(document.categoryId());
+            int[] tags = document.tagIds().isEmpty() ? NO_TAGS : new int[document.tagIds().size()];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = tagOrdinal(document.tagIds().get(i));
+            }
+            tagsBySlot[slot] = tags;
+            priceCentsBySlot[slot] = document.price() == null ? NONE : toCents(document.price());
+            starsBySlot[slot] = (byte) Math.min(5, (int) Math.floor(document.averageRating()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotByProduct.remove(productId);
+            if (slot < 0) {
+                return;
+            }
+            tagsBySlot[slot] = null;
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeSlotCount++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchFacetsDto count(Collection<Long> productIds) {
+        lock.readLock().lock();
+        try {
+            int[] categoryCounts = new int[categoryOrdinals.size()];
+            int[] tagCounts = new int[tagOrdinals.size()];
+            int[] priceCounts = new int[priceBandLabels.length];
+            int[] starCounts = new int[6];
+            for (Long productId : productIds) {
+                int slot = slotByProduct.get(productId);
+                if (slot < 0) {
+                    continue;
+                }
+                if (categoryBySlot[slot] != NONE) {
+                    categoryCounts[categoryBySlot[slot]]++;
+                }
+                for (int tag : tagsBySlot[slot]) {
+                    tagCounts[tag]++;
+                }
+                if (priceCentsBySlot[slot] != NONE) {
+                    priceCounts[priceBand(priceCentsBySlot[slot])]++;
+                }
+                starCounts[starsBySlot[slot]]++;
+            }
+            return new SearchFacetsDto(
+                    topValues(categoryCounts, categoryIds),
+                    topValues(tagCounts, tagIds),
+                    labelled(priceCounts, priceBandLabels, 0),
+                    labelled(starCounts, new String[] {"0", "1", "2", "3", "4", "5"}, 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Faixa i cobre [limite i-1, limite i); a última é aberta
+    private int priceBand(long cents) {
+        int position = Arrays.binarySearch(priceBandBounds, cents);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    // Só valores com contagem, do maior para o menor, limitados para manter o payload pequeno
+    private List<FacetBucketDto> topValues(int[] counts, long[] ids) {
+        List<FacetBucketDto> buckets = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                buckets.add(new FacetBucketDto(String.valueOf(ids[ordinal]), counts[ordinal]));
+            }
+        }
+        buckets.sort(Comparator.comparingLong(FacetBucketDto::getCount).reversed());
+        return buckets.size() > maxValues ? new ArrayList<>(buckets.subList(0, maxValues)) : buckets;
+    }
+
+    private static List<FacetBucketDto> labelled(int[] counts, String[] labels, int from) {
+        List<FacetBucketDto> buckets = new ArrayList<>(counts.length);
+        for (int i = from; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                buckets.add(new FacetBucketDto(labels[i], counts[i]));
+            }
+        }
+        return buckets;
+    }
+
+    private int categoryOrdinal(long categoryId) {
+        int ordinal = categoryOrdinals.get(categoryId);
+        if (ordinal < 0) {
+            ordinal = categoryOrdinals.size();
+            if (ordinal == categoryIds.length) {
+                categoryIds = Arrays.copyOf(categoryIds, ordinal * 2);
+            }
+            categoryIds[ordinal] = categoryId;
+            categoryOrdinals.put(categoryId, ordinal);
+        }
+        return ordinal;
+    }
+
+    private int tagOrdinal(long tagId) {
+        int ordinal = tagOrdinals.get(tagId);
+        if (ordinal < 0) {
+            ordinal = tagOrdinals.size();
+            if (ordinal == tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, ordinal * 2);
+            }
+            tagIds[ordinal] = tagId;
+            tagOrdinals.put(tagId, ordinal);
+        }
+        return ordinal;
+    }
+
+    private void ensureSlotCapacity(int capacity) {
+        if (capacity > categoryBySlot.length) {
+            int newLength = Math.max(capacity, categoryBySlot.length * 2);
+            categoryBySlot = Arrays.copyOf(categoryBySlot, newLength);
+            tagsBySlot = Arrays.copyOf(tagsBySlot, newLength);
+            priceCentsBySlot = Arrays.copyOf(priceCentsBySlot, newLength);
+            starsBySlot = Arrays.copyOf(starsBySlot, newLength);
+        }
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).longValue();
+    }
+}
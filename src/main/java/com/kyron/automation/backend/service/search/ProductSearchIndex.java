@@ -0,0 +1,297 @@
+package com.kyron.automation.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+// Índice invertido em memória: termo -> posting list de ordinais de documento, com ranking BM25.
+// Uma atualização gera um novo ordinal e marca o anterior como morto; a compactação recupera o espaço.
+@Component
+public class ProductSearchIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int SPECIFICATION_WEIGHT = 1;
+
+    private static final float PREFIX_BOOST = 0.6f;
+    private static final float FUZZY_BOOST = 0.4f;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_TOKENS = 16;
+    private static final int MIN_COMPACTION_DEAD_DOCS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> terms = new TreeMap<>();
+    private LongIntHashMap docByProduct = new LongIntHashMap();
+    private long[] productByDoc = new long[1024];
+    private int[] docLengths = new int[1024];
+    private BitSet liveDocs = new BitSet();
+    private int maxDoc;
+    private int liveDocCount;
+    private long liveLength;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(ProductDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTokens(frequencies, document.name(), NAME_WEIGHT)
+                + addTokens(frequencies, document.description(), DESCRIPTION_WEIGHT);
+        for (String tag : document.tagNames()) {
+            length += addTokens(frequencies, tag, TAG_WEIGHT);
+        }
+        for (String value : document.specificationValues()) {
+            length += addTokens(frequencies, value, SPECIFICATION_WEIGHT);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.productId());
+            int doc = maxDoc++;
+            ensureDocCapacity(maxDoc);
+            productByDoc[doc] = document.productId();
+            docLengths[doc] = length;
+            liveDocs.set(doc);
+            docByProduct.put(document.productId(), doc);
+            liveDocCount++;
+            liveLength += length;
+            frequencies.forEach((term, freq) -> terms.computeIfAbsent(term, t -> new PostingList()).add(doc, freq));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Página de resultados; todos os termos da consulta precisam casar (exato, prefixo ou fuzzy)
+    public SearchResult search(String query, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must be >= 0");
+        }
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return SearchResult.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            ScoreAccumulator scores = score(tokens);
+            int required = (1 << tokens.size()) - 1;
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Math.min(wanted, 1024) + 1, ScoredDoc.WORST_FIRST);
+            int totalHits = 0;
+            for (int slot = 0; slot < scores.capacity(); slot++) {
+                int doc = scores.docAt(slot);
+                if (doc < 0 || scores.maskAt(slot) != required) {
+                    continue;
+                }
+                totalHits++;
+                long productId = productByDoc[doc];
+                float score = scores.scoreAt(slot);
+                if (top.size() < wanted) {
+                    top.add(new ScoredDoc(productId, score));
+                } else if (top.peek().isWorseThan(productId, score)) {
+                    top.poll();
+                    top.add(new ScoredDoc(productId, score));
+                }
+            }
+
+            ScoredDoc[] ranked = top.toArray(new ScoredDoc[0]);
+            Arrays.sort(ranked, ScoredDoc.WORST_FIRST.reversed());
+            List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, ranked.length - offset)));
+            for (int i = offset; i < ranked.length; i++) {
+                page.add(ranked[i].productId());
+            }
+            return new SearchResult(page, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ScoreAccumulator score(List<String> tokens) {
+        float averageLength = liveDocCount == 0 ? 1f : (float) liveLength / liveDocCount;
+        ScoreAccumulator scores = new ScoreAccumulator(256);
+        for (int t = 0; t < tokens.size(); t++) {
+            int termBit = 1 << t;
+            for (Map.Entry<PostingList, Float> expansion : expand(tokens.get(t)).entrySet()) {
+                PostingList postings = expansion.getKey();
+                float boost = expansion.getValue();
+                float idf = (float) Math.log(1 + (liveDocCount - postings.size() + 0.5) / (postings.size() + 0.5));
+                for (int i = 0; i < postings.size(); i++) {
+                    int doc = postings.doc(i);
+                    if (!liveDocs.get(doc)) {
+                        continue;
+                    }
+                    float tf = postings.freq(i);
+                    float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    scores.add(doc, boost * idf * tf * (K1 + 1) / (tf + norm), termBit);
+                }
+            }
+        }
+        return scores;
+    }
+
+    // Termo exato, depois prefixos e, se nada casar, termos a até 1 ou 2 edições de distância
+    private Map<PostingList, Float> expand(String token) {
+        Map<PostingList, Float> expansions = new HashMap<>();
+        PostingList exact = terms.get(token);
+        if (exact != null) {
+            expansions.put(exact, 1f);
+        }
+        if (token.length() >= 2) {
+            for (Map.Entry<String, PostingList> entry : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(entry.getValue(), PREFIX_BOOST);
+            }
+        }
+        if (expansions.isEmpty() && token.length() >= 4) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            char first = token.charAt(0);
+            NavigableMap<String, PostingList> candidates = terms.subMap(String.valueOf(first), true, String.valueOf((char) (first + 1)), false);
+            for (Map.Entry<String, PostingList> entry : candidates.entrySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                String term = entry.getKey();
+                if (Math.abs(term.length() - token.length()) <= maxEdits && withinEditDistance(token, term, maxEdits)) {
+                    expansions.put(entry.getValue(), FUZZY_BOOST);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private void removeLocked(long productId) {
+        int doc = docByProduct.remove(productId);
+        if (doc < 0) {
+            return;
+        }
+        liveDocs.clear(doc);
+        liveDocCount--;
+        liveLength -= docLengths[doc];
+        int deadDocs = maxDoc - liveDocCount;
+        if (deadDocs >= MIN_COMPACTION_DEAD_DOCS && deadDocs > liveDocCount) {
+            compactLocked();
+        }
+    }
+
+    // Renumera os documentos vivos mantendo a ordem e descarta postings de documentos mortos
+    private void compactLocked() {
+        int[] newOrdinals = new int[maxDoc];
+        long[] compactProducts = new long[Math.max(1024, liveDocCount)];
+        int[] compactLengths = new int[compactProducts.length];
+        LongIntHashMap compactDocs = new LongIntHashMap(liveDocCount);
+        int next = 0;
+        for (int doc = liveDocs.nextSetBit(0); doc >= 0; doc = liveDocs.nextSetBit(doc + 1)) {
+            newOrdinals[doc] = next;
+            compactProducts[next] = productByDoc[doc];
+            compactLengths[next] = docLengths[doc];
+            compactDocs.put(productByDoc[doc], next);
+            next++;
+        }
+        BitSet oldLive = liveDocs;
+        terms.values().removeIf(postings -> !postings.compact(oldLive, newOrdinals));
+
+        productByDoc = compactProducts;
+        docLengths = compactLengths;
+        docByProduct = compactDocs;
+        liveDocs = new BitSet(next);
+        liveDocs.set(0, next);
+        maxDoc = next;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > productByDoc.length) {
+            int newLength = Math.max(capacity, productByDoc.length * 2);
+            productByDoc = Arrays.copyOf(productByDoc, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+        }
+    }
+
+    private static int addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private static List<String> queryTokens(String query) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        return tokens.size() > MAX_QUERY_TOKENS ? tokens.subList(0, MAX_QUERY_TOKENS) : tokens;
+    }
+
+    // Levenshtein com faixa limitada e saída antecipada
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private record ScoredDoc(long productId, float score) {
+        // Menor score primeiro; empate resolvido pelo id maior (ids menores ganham)
+        static final Comparator<ScoredDoc> WORST_FIRST = (left, right) -> {
+            int byScore = Float.compare(left.score, right.score);
+            return byScore != 0 ? byScore : Long.compare(right.productId, left.productId);
+        };
+
+        boolean isWorseThan(long otherProductId, float otherScore) {
+            int byScore = Float.compare(score, otherScore);
+            return byScore != 0 ? byScore < 0 : productId > otherProductId;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.kyron.automation.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kyron.automation.backend.service.event.ProductChangedEvent;
+import com.kyron.automation.backend.service.repository.ProductIndexProjection;
+import com.kyron.automation.backend.service.repository.ProductRatingProjection;
+import com.kyron.automation.backend.service.repository.ProductRatingSummaryRepository;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+import com.kyron.automation.backend.service.repository.ProductTagProjection;
+import com.kyron.automation.backend.service.repository.ProductValueProjection;
+
+// Constrói o índice na subida da aplicação e o mantém atualizado após cada commit de produto
+@Component
+public class ProductSearchIndexer {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexer.class);
+
+    private final ProductSearchIndex index;
+    private final ProductFacetIndex facetIndex;
+    private final ProductRepository productRepository;
+    private final ProductRatingSummaryRepository ratingSummaryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ProductSearchIndexer(ProductSearchIndex index,
+                                ProductFacetIndex facetIndex,
+                                ProductRepository productRepository,
+                                ProductRatingSummaryRepository ratingSummaryRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${kyron.search.index.enabled:true}") boolean enabled,
+                                @Value("${kyron.search.index.batch-size:1000}") int batchSize) {
+        this.index = index;
+        this.facetIndex = facetIndex;
+        this.productRepository = productRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        // Depois do commit a conexão de quem escreveu ainda está presa à thread: as leituras participam
+        // dela em vez de pedir uma segunda ao pool (REQUIRES_NEW esgotava o pool em rajadas de escrita)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        int indexed = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Long> ids = productRepository.findActiveIdsAfter(cursor, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<ProductDocument> documents = readOnlyTransaction.execute(status -> loadDocuments(ids));
+            documents.forEach(this::indexDocument);
+            indexed += documents.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        index.markReady();
+        facetIndex.markReady();
+        log.info("Indexed {} products for search in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<ProductDocument> documents = readOnlyTransaction.execute(status -> loadDocuments(event.getProductIds()));
+        Set<Long> stillActive = new HashSet<>();
+        for (ProductDocument document : documents) {
+            indexDocument(document);
+            stillActive.add(document.productId());
+        }
+        for (Long productId : event.getProductIds()) {
+            if (!stillActive.contains(productId)) {
+                index.remove(productId);
+                facetIndex.remove(productId);
+            }
+        }
+    }
+
+    private void indexDocument(ProductDocument document) {
+        index.index(document);
+        facetIndex.index(document);
+    }
+
+    // Quatro consultas por lote: campos do produto, tags, valores das especificações e notas
+    private List<ProductDocument> loadDocuments(Collection<Long> productIds) {
+        Map<Long, List<ProductTagProjection>> tags = productRepository.findTagsByIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(ProductTagProjection::getProductId));
+        Map<Long, List<String>> specificationValues = groupValues(productRepository.findSpecificationValuesByIdIn(productIds));
+        Map<Long, Double> ratings = ratingSummaryRepository.findAverageRatingsByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductRatingProjection::getProductId, ProductRatingProjection::getAverageRating));
+        List<ProductDocument> documents = new ArrayList<>(productIds.size());
+        for (ProductIndexProjection product : productRepository.findIndexFieldsByIdIn(productIds)) {
+            if (!Boolean.TRUE.equals(product.getActive())) {
+                continue;
+            }
+            List<ProductTagProjection> productTags = tags.getOrDefault(product.getProductId(), List.of());
+            documents.add(new ProductDocument(
+                    product.getProductId(),
+                    product.getName(),
+                    product.getDescription(),
+                    productTags.stream().map(ProductTagProjection::getName).toList(),
+                    specificationValues.getOrDefault(product.getProductId(), List.of()),
+                    product.getCategoryId(),
+                    productTags.stream().map(ProductTagProjection::getTagId).toList(),
+                    product.getPrice(),
+                    ratings.getOrDefault(product.getProductId(), 0.0)));
+        }
+        return documents;
+    }
+
+    private static Map<Long, List<String>> groupValues(List<ProductValueProjection> values) {
+        return values.stream().collect(Collectors.groupingBy(
+                ProductValueProjection::getProductId,
+                Collectors.mapping(ProductValueProjection::getValue, Collectors.toList())));
+    }
+}
@@ -0,0 +1,78 @@
+package com.kyron.automation.backend.service.search;
+
+import java.util.Arrays;
+
+// Acumula score e máscara de termos por documento sem boxing (ordinal -> score, máscara)
+final class ScoreAccumulator {
+    private int[] docs;
+    private float[] scores;
+    private int[] masks;
+    private int size;
+
+    ScoreAccumulator(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        docs = new int[capacity];
+        scores = new float[capacity];
+        masks = new int[capacity];
+        Arrays.fill(docs, -1);
+    }
+
+    void add(int doc, float score, int termBit) {
+        if ((size + 1) * 2 > docs.length) {
+            resize();
+        }
+        int mask = docs.length - 1;
+        int slot = mix(doc) & mask;
+        while (docs[slot] != -1 && docs[slot] != doc) {
+            slot = (slot + 1) & mask;
+        }
+        if (docs[slot] == -1) {
+            docs[slot] = doc;
+            size++;
+        }
+        scores[slot] += score;
+        masks[slot] |= termBit;
+    }
+
+    int capacity() {
+        return docs.length;
+    }
+
+    int docAt(int slot) {
+        return docs[slot];
+    }
+
+    float scoreAt(int slot) {
+        return scores[slot];
+    }
+
+    int maskAt(int slot) {
+        return masks[slot];
+    }
+
+    private void resize() {
+        int[] oldDocs = docs;
+        float[] oldScores = scores;
+        int[] oldMasks = masks;
+        docs = new int[oldDocs.length * 2];
+        scores = new float[docs.length];
+        masks = new int[docs.length];
+        Arrays.fill(docs, -1);
+        int mask = docs.length - 1;
+        for (int i = 0; i < oldDocs.length; i++) {
+            if (oldDocs[i] != -1) {
+                int slot = mix(oldDocs[i]) & mask;
+                while (docs[slot] != -1) {
+                    slot = (slot + 1) & mask;
+                }
+                docs[slot] = oldDocs[i];
+                scores[slot] = oldScores[i];
+                masks[slot] = oldMasks[i];
+            }
+        }
+    }
+
+    private static int mix(int doc) {
+        return doc * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,8 @@
+package com.kyron.automation.backend.service.search;
+
+import java.util.List;
+
+// Ids da página pedida, em ordem de relevância, e o total de documentos encontrados
+public record SearchResult(List<Long> productIds, int totalHits) {
+    static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+}
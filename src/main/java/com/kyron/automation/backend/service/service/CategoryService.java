@@ -1,64 +1,68 @@
 package com.kyron.automation.backend.service.service;
 
+import com.kyron.automation.backend.service.config.CacheConfig;
 import com.kyron.automation.backend.service.dto.CategoryDto;
+import com.kyron.automation.backend.service.mapper.CategoryMapper;
 import com.kyron.automation.backend.service.model.Category;
 import com.kyron.automation.backend.service.repository.CategoryRepository;
+import com.kyron.automation.backend.service.repository.ProductRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class CategoryService {
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository) {
         this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
     }
 
     @Transactional
     public CategoryDto createCategory(CategoryDto categoryDto) {
-        Category category = new Category();
-        BeanUtils.copyProperties(categoryDto, category);
+        Category category = CategoryMapper.toEntity(categoryDto);
         Category savedCategory = categoryRepository.save(category);
-        return convertToDto(savedCategory);
+        return CategoryMapper.toDto(savedCategory);
     }
 
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findByActiveTrue().stream()
-                .map(this::convertToDto)
+                .map(CategoryMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     public CategoryDto getCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
-        return convertToDto(category);
+        return CategoryMapper.toDto(category);
     }
 
+    // O nome aparece dentro de cada produto: nova versão para todos eles e o cache de produtos é descartado
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     @Transactional
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
-        BeanUtils.copyProperties(categoryDto, category, "id");
+        CategoryMapper.updateEntity(categoryDto, category);
+        productRepository.touchByCategory(id, LocalDateTime.now());
         Category updatedCategory = categoryRepository.save(category);
-        return convertToDto(updatedCategory);
+        return CategoryMapper.toDto(updatedCategory);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     @Transactional
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
         category.setActive(false);
+        productRepository.touchByCategory(id, LocalDateTime.now());
         categoryRepository.save(category);
     }
-
-    private CategoryDto convertToDto(Category category) {
-        CategoryDto dto = new CategoryDto();
-        BeanUtils.copyProperties(category, dto);
-        return dto;
-    }
 }
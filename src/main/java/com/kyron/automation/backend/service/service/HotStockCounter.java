@@ -0,0 +1,302 @@
+package com.kyron.automation.backend.service.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.kyron.automation.backend.service.config.CacheConfig;
+import com.kyron.automation.backend.service.dto.StockLevelDto;
+import com.kyron.automation.backend.service.exception.InsufficientStockException;
+import com.kyron.automation.backend.service.model.StockLease;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Baixas de estoque dos produtos em kyron.stock.hot.product-ids servidas da memória, sem tocar a linha
+// do produto a cada venda. A instância tira estoque do banco em blocos (lease-size) com a mesma baixa
+// condicional do StockService e distribui o saldo em faixas (stripes) que as requisições consomem por CAS.
+//
+// Garantias:
+// - nunca vende além do estoque: cada unidade vendida da memória já saiu de products.stock_quantity e
+//   as faixas nunca ficam negativas;
+// - desligamento ordenado: o saldo não vendido volta ao produto e o lease é fechado na mesma transação,
+//   deixando o banco exato;
+// - queda da instância: o saldo em memória se perde junto com a contagem do que foi vendido desde o
+//   último flush. Ele fica fora do estoque (nunca volta sozinho) e o lease é marcado ABANDONED por outra
+//   instância depois de lease-timeout sem heartbeat, com leased - consumed como unidades sem conta.
+//   A perda máxima por produto é o saldo de um lease, ou seja, no máximo lease-size unidades.
+//
+// Enquanto a instância segura saldo, products.stock_quantity mostra só o que não está em lease.
+@Component
+public class HotStockCounter implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(HotStockCounter.class);
+
+    // Para junto com a ingestão de reviews: depois do servidor web e antes do banco ser fechado
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    // Cada faixa ocupa sua própria linha de cache (16 ints = 64 bytes) para evitar falso compartilhamento
+    private static final int PADDING = 16;
+
+    private final StockLeaseLedger ledger;
+    private final CacheManager cacheManager;
+    private final int leaseSize;
+    private final Duration leaseTimeout;
+    private final Map<Long, HotSku> skus = new LinkedHashMap<>();
+    private final Counter leases;
+    // Identifica os leases desta execução; uma instância reiniciada é outra instância para o livro-razão
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+
+    public HotStockCounter(StockLeaseLedger ledger,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${kyron.stock.hot.product-ids:}") Long[] productIds,
+                           @Value("${kyron.stock.hot.lease-size:100}") int leaseSize,
+                           @Value("${kyron.stock.hot.lease-timeout:2m}") Duration leaseTimeout) {
+        this.ledger = ledger;
+        this.cacheManager = cacheManager;
+        this.leaseSize = leaseSize;
+        this.leaseTimeout = leaseTimeout;
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        for (Long productId : productIds) {
+            HotSku sku = new HotSku(productId, stripes);
+            skus.put(productId, sku);
+            Gauge.builder("kyron.stock.hot.allowance", sku, HotSku::available)
+                    .description("Units leased from the product row and not yet sold")
+                    .tag("product", String.valueOf(productId))
+                    .register(meterRegistry);
+        }
+        this.leases = Counter.builder("kyron.stock.hot.leases").register(meterRegistry);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // Baixa servida da memória. null quando o produto não é quente ou o contador já parou:
+    // quem chama usa a baixa condicional no banco
+    public StockLevelDto decrement(Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        HotSku sku = skus.get(productId);
+        if (sku == null || !running) {
+            return null;
+        }
+        int taken = sku.take(quantity);
+        if (taken < quantity && !refill(sku, quantity, taken)) {
+            return null;
+        }
+        sku.sold.add(quantity);
+        // Aproximado: estoque no banco na última concessão mais o saldo ainda em memória
+        return new StockLevelDto(productId, sku.lastKnownStock + sku.available());
+    }
+
+    // Caminho lento, serializado por produto: completa o pedido com um novo bloco do banco
+    private boolean refill(HotSku sku, int quantity, int taken) {
+        sku.lock.lock();
+        try {
+            // Outra thread pode ter reabastecido enquanto esta esperava o lock
+            taken += sku.take(quantity - taken);
+            if (taken == quantity) {
+                return true;
+            }
+            if (!running) {
+                // Desligando: as unidades já tiradas das faixas entram como vendidas no fechamento do lease.
+                // O pedido segue pelo banco; no pior caso elas deixam de ser vendidas, nunca são vendidas a mais
+                return false;
+            }
+            int missing = quantity - taken;
+            StockLeaseLedger.Grant grant;
+            try {
+                grant = ledger.lease(sku.productId, sku.leaseId, instanceId, Math.max(leaseSize, missing));
+            } catch (RuntimeException ex) {
+                sku.give(taken);
+                throw ex;
+            }
+            if (grant.granted() > 0) {
+                // Lease novo (o anterior foi fechado num stop): as contagens são por lease e recomeçam do zero
+                if (!grant.leaseId().equals(sku.leaseId)) {
+                    sku.leaseId = grant.leaseId();
+                    sku.leased = 0;
+                    sku.sold.reset();
+                }
+                sku.leased += grant.granted();
+                sku.lastKnownStock = grant.remainingStock();
+                leases.increment();
+                evict(sku.productId);
+            }
+            if (grant.granted() < missing) {
+                // O que foi concedido fica como saldo para pedidos menores
+                sku.give(taken + grant.granted());
+                throw new InsufficientStockException(sku.productId, quantity);
+            }
+            sku.give(grant.granted() - missing);
+            return true;
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    // Grava o total vendido de cada lease (heartbeat) e marca os leases de instâncias que pararam de responder
+    @Scheduled(fixedDelayString = "${kyron.stock.hot.flush-interval:1s}")
+    public void flush() {
+        if (skus.isEmpty()) {
+            return;
+        }
+        for (HotSku sku : skus.values()) {
+            sku.lock.lock();
+            try {
+                if (sku.leaseId != null) {
+                    ledger.recordConsumed(sku.leaseId, (int) sku.sold.sum());
+                }
+            } finally {
+                sku.lock.unlock();
+            }
+        }
+        recoverAbandonedLeases();
+    }
+
+    public void recoverAbandonedLeases() {
+        for (StockLease lease : ledger.abandonStale(instanceId, LocalDateTime.now().minus(leaseTimeout))) {
+            log.warn("Stock lease {} of product {} held by instance {} stopped reporting; {} of {} leased units are " +
+                    "unaccounted (sold after its last flush or never sold) and stay out of stock",
+                    lease.getId(), lease.getProductId(), lease.getInstanceId(),
+                    lease.getLeased() - lease.getConsumed(), lease.getLeased());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = !skus.isEmpty();
+    }
+
+    // Zera as faixas antes de fechar: o que estava nelas é exatamente o saldo não vendido,
+    // mesmo com requisições ainda em andamento
+    @Override
+    public void stop() {
+        running = false;
+        for (HotSku sku : skus.values()) {
+            sku.lock.lock();
+            try {
+                int unused = sku.drain();
+                if (sku.leaseId == null) {
+                    continue;
+                }
+                int consumed = (int) (sku.leased - unused);
+                if (ledger.close(sku.leaseId, sku.productId, consumed, unused)) {
+                    log.info("Closed stock lease {} of product {}: {} sold, {} returned to stock",
+                            sku.leaseId, sku.productId, consumed, unused);
+                    sku.leased = 0;
+                    sku.sold.reset();
+                }
+                sku.leaseId = null;
+                evict(sku.productId);
+            } catch (RuntimeException ex) {
+                log.error("Failed to close stock lease {} of product {}", sku.leaseId, sku.productId, ex);
+            } finally {
+                sku.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void evict(Long productId) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            cache.evict(productId);
+        }
+    }
+
+    private static final class HotSku {
+        private final Long productId;
+        private final int mask;
+        private final AtomicIntegerArray stripes;
+        private final LongAdder sold = new LongAdder();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile int lastKnownStock;
+        // Protegidos pelo lock
+        private Long leaseId;
+        private long leased;
+
+        HotSku(Long productId, int stripeCount) {
+            this.productId = productId;
+            this.mask = stripeCount - 1;
+            this.stripes = new AtomicIntegerArray(stripeCount * PADDING);
+        }
+
+        // Tira até 'quantity' unidades começando pela faixa da thread; devolve quantas conseguiu
+        int take(int quantity) {
+            int start = (int) Thread.currentThread().getId();
+            int taken = 0;
+            for (int i = 0; i <= mask && taken < quantity; i++) {
+                int index = ((start + i) & mask) * PADDING;
+                int current;
+                while ((current = stripes.get(index)) > 0) {
+                    int amount = Math.min(current, quantity - taken);
+                    if (stripes.compareAndSet(index, current, current - amount)) {
+                        taken += amount;
+                        break;
+                    }
+                }
+            }
+            return taken;
+        }
+
+        // Reparte o saldo entre as faixas para que threads diferentes não disputem a mesma
+        void give(int quantity) {
+            if (quantity <= 0) {
+                return;
+            }
+            int stripeCount = mask + 1;
+            int share = quantity / stripeCount;
+            int rest = quantity % stripeCount;
+            for (int i = 0; i < stripeCount; i++) {
+                int amount = share + (i < rest ? 1 : 0);
+                if (amount > 0) {
+                    stripes.addAndGet(i * PADDING, amount);
+                }
+            }
+        }
+
+        int drain() {
+            int drained = 0;
+            for (int i = 0; i <= mask; i++) {
+                drained += stripes.getAndSet(i * PADDING, 0);
+            }
+            return drained;
+        }
+
+        int available() {
+            int available = 0;
+            for (int i = 0; i <= mask; i++) {
+                available += stripes.get(i * PADDING);
+            }
+            return available;
+        }
+    }
+}
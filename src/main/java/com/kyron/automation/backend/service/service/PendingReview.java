@@ -0,0 +1,28 @@
+package com.kyron.automation.backend.service.service;
+
+import com.kyron.automation.backend.service.dto.ReviewDto;
+
+// Review aceita pela API e ainda não gravada
+final class PendingReview {
+    private final String trackingId;
+    private final Long productId;
+    private final ReviewDto review;
+
+    PendingReview(String trackingId, Long productId, ReviewDto review) {
+        this.trackingId = trackingId;
+        this.productId = productId;
+        this.review = review;
+    }
+
+    String getTrackingId() {
+        return trackingId;
+    }
+
+    Long getProductId() {
+        return productId;
+    }
+
+    ReviewDto getReview() {
+        return review;
+    }
+}
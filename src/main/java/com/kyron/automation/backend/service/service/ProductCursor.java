@@ -0,0 +1,104 @@
+package com.kyron.automation.backend.service.service;
+
+import com.kyron.automation.backend.service.model.Product;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Cursor opaco sobre (sortKey, id) usado na paginação por keyset da listagem de produtos
+final class ProductCursor {
+    static final Set<String> SORT_KEYS = Set.of("id", "name", "price", "createdAt");
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final String sortValue;
+    private final Long id;
+
+    private ProductCursor(String sortBy, Sort.Direction direction, String sortValue, Long id) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    static Sort sort(String sortBy, Sort.Direction direction) {
+        String key = sortBy != null ? sortBy : "id";
+        if (!SORT_KEYS.contains(key)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + sortBy + ". Allowed: " + SORT_KEYS);
+        }
+        Sort sort = Sort.by(direction, key);
+        return "id".equals(key) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    static String encode(String sortBy, Sort.Direction direction, Product last) {
+        String key = sortBy != null ? sortBy : "id";
+        String raw = String.join(SEPARATOR, key, direction.name(), String.valueOf(sortValueOf(key, last)),
+                String.valueOf(last.getId()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || second < 0 || last <= second) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String key = raw.substring(0, first);
+            if (!SORT_KEYS.contains(key)) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new ProductCursor(key,
+                    Sort.Direction.valueOf(raw.substring(first + 1, second)),
+                    raw.substring(second + 1, last),
+                    Long.valueOf(raw.substring(last + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+
+    String getSortBy() {
+        return sortBy;
+    }
+
+    Sort.Direction getDirection() {
+        return direction;
+    }
+
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!"id".equals(sortBy)) {
+            keys.put(sortBy, parseSortValue());
+        }
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private Object parseSortValue() {
+        return switch (sortBy) {
+            case "price" -> new BigDecimal(sortValue);
+            case "createdAt" -> LocalDateTime.parse(sortValue);
+            default -> sortValue;
+        };
+    }
+
+    private static Object sortValueOf(String key, Product product) {
+        return switch (key) {
+            case "name" -> product.getName();
+            case "price" -> product.getPrice();
+            case "createdAt" -> product.getCreatedAt();
+            default -> product.getId();
+        };
+    }
+}
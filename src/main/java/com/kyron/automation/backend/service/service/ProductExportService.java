@@ -0,0 +1,93 @@
+package com.kyron.automation.backend.service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class ProductExportService {
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter productWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public ProductExportService(ProductRepository productRepository,
+                                ProductService productService,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${kyron.export.chunk-size:500}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.productWriter = objectMapper.writerFor(ProductResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    // Escreve um produto por linha; a memória fica limitada a um chunk de entidades
+    public void exportProducts(LocalDateTime updatedSince, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Product> products = updatedSince != null
+                        ? productRepository.streamChangedSince(updatedSince)
+                        : productRepository.streamByActiveTrue();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+
+                List<Product> chunk = new ArrayList<>(chunkSize);
+                Iterator<Product> iterator = products.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == chunkSize) {
+                        writeChunk(chunk, generator);
+                    }
+                }
+                writeChunk(chunk, generator);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void writeChunk(List<Product> chunk, JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (ProductResponseDto dto : productService.convertToResponseDtos(chunk)) {
+            productWriter.writeValue(generator, dto);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        // Libera as entidades já escritas antes de avançar o cursor
+        chunk.clear();
+        entityManager.clear();
+    }
+}
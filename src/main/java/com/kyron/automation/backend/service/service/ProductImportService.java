@@ -0,0 +1,211 @@
+package com.kyron.automation.backend.service.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.kyron.automation.backend.service.dto.BulkImportResultDto;
+import com.kyron.automation.backend.service.dto.BulkImportRowResultDto;
+import com.kyron.automation.backend.service.dto.ProductRequestDto;
+import com.kyron.automation.backend.service.event.ProductChangedEvent;
+import com.kyron.automation.backend.service.mapper.ProductMapper;
+import com.kyron.automation.backend.service.model.Category;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.Tag;
+import com.kyron.automation.backend.service.repository.CategoryRepository;
+import com.kyron.automation.backend.service.repository.TagRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+
+@Service
+public class ProductImportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final ObjectReader productReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ProductImportService(ObjectMapper objectMapper,
+                                Validator validator,
+                                TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                CategoryRepository categoryRepository,
+                                TagRepository tagRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${kyron.import.chunk-size:500}") int chunkSize) {
+        this.productReader = objectMapper.readerFor(ProductRequestDto.class);
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    // Lê um array JSON ou NDJSON em streaming; cada chunk é gravado na sua própria transação.
+    // Entrada malformada ou truncada encerra a leitura: a falha entra no relatório com a posição e as
+    // linhas lidas antes dela ainda são importadas
+    public BulkImportResultDto importProducts(InputStream input) throws IOException {
+        BulkImportResultDto result = new BulkImportResultDto();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<ProductRequestDto> rows = productReader.readValues(input)) {
+            while (rows.hasNextValue()) {
+                int rowIndex = index++;
+                ProductRequestDto row;
+                try {
+                    row = rows.nextValue();
+                } catch (JsonParseException ex) {
+                    // JSON malformado: não há como ressincronizar o stream
+                    result.addFailed(rowIndex, malformed(ex));
+                    break;
+                } catch (JsonMappingException ex) {
+                    result.addFailed(rowIndex, "Invalid row: " + ex.getOriginalMessage());
+                    continue;
+                }
+
+                String violations = validate(row);
+                if (violations != null) {
+                    result.addFailed(rowIndex, violations);
+                    continue;
+                }
+
+                chunk.add(new ImportRow(rowIndex, row));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            // Falha fora de uma linha (abertura do array, separador, fim truncado): hasNextValue lança
+            result.addFailed(index, malformed(ex));
+        } catch (RuntimeJsonMappingException ex) {
+            result.addFailed(index, ex.getCause() instanceof JsonProcessingException cause
+                    ? malformed(cause) : "Malformed JSON: " + ex.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        result.getRows().sort(Comparator.comparingInt(BulkImportRowResultDto::getIndex));
+        return result;
+    }
+
+    private static String malformed(JsonProcessingException ex) {
+        JsonLocation location = ex.getLocation();
+        if (location == null) {
+            return "Malformed JSON: " + ex.getOriginalMessage();
+        }
+        return "Malformed JSON at line " + location.getLineNr() + ", column " + location.getColumnNr()
+                + ": " + ex.getOriginalMessage();
+    }
+
+    private String validate(ProductRequestDto row) {
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(row, Default.class, ProductRequestDto.OnCreate.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void importChunk(List<ImportRow> chunk, BulkImportResultDto result) {
+        Map<Integer, Long> created = new LinkedHashMap<>();
+        Map<Integer, String> failed = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Categorias e tags são resolvidas uma única vez por chunk
+                Map<Long, Category> categories = categoryRepository.findAllById(chunk.stream()
+                                .map(r -> r.request().getCategoryId())
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toSet())).stream()
+                        .collect(Collectors.toMap(Category::getId, c -> c));
+                Set<Long> tagIds = chunk.stream()
+                        .map(r -> r.request().getTagIds())
+                        .filter(Objects::nonNull)
+                        .flatMap(Set::stream)
+                        .collect(Collectors.toSet());
+                Map<Long, Tag> tags = tagIds.isEmpty() ? Collections.emptyMap()
+                        : tagRepository.findByIdIn(tagIds).stream().collect(Collectors.toMap(Tag::getId, t -> t));
+
+                Map<Integer, Product> persisted = new LinkedHashMap<>();
+                for (ImportRow row : chunk) {
+                    ProductRequestDto request = row.request();
+                    if (request.getCategoryId() != null && !categories.containsKey(request.getCategoryId())) {
+                        failed.put(row.index(), "Category not found with id: " + request.getCategoryId());
+                        continue;
+                    }
+                    if (request.getTagIds() != null && !tags.keySet().containsAll(request.getTagIds())) {
+                        failed.put(row.index(), "One or more tags were not found");
+                        continue;
+                    }
+                    Product product = toProduct(request, categories, tags);
+                    entityManager.persist(product);
+                    persisted.put(row.index(), product);
+                }
+
+                // Os inserts de produtos, imagens, specs e product_tags saem em lotes JDBC
+                entityManager.flush();
+                persisted.forEach((rowIndex, product) -> created.put(rowIndex, product.getId()));
+                entityManager.clear();
+                if (!created.isEmpty()) {
+                    eventPublisher.publishEvent(new ProductChangedEvent(created.values()));
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Bulk import chunk starting at row {} failed", chunk.get(0).index(), ex);
+            created.clear();
+            failed.clear();
+            chunk.forEach(row -> failed.put(row.index(), "Chunk rolled back: " + ex.getMessage()));
+        }
+
+        for (ImportRow row : chunk) {
+            if (created.containsKey(row.index())) {
+                result.addCreated(row.index(), created.get(row.index()));
+            } else {
+                result.addFailed(row.index(), failed.get(row.index()));
+            }
+        }
+    }
+
+    private Product toProduct(ProductRequestDto request, Map<Long, Category> categories, Map<Long, Tag> tags) {
+        Product product = ProductMapper.toEntity(request);
+        if (request.getCategoryId() != null) {
+            product.setCategory(categories.get(request.getCategoryId()));
+        }
+        if (request.getTagIds() != null) {
+            request.getTagIds().forEach(tagId -> product.getTags().add(tags.get(tagId)));
+        }
+        return product;
+    }
+
+    private record ImportRow(int index, ProductRequestDto request) {
+    }
+}
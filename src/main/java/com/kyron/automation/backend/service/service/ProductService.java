@@ -1,49 +1,93 @@
 package com.kyron.automation.backend.service.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 import com.kyron.automation.backend.service.model.Category;
 
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.kyron.automation.backend.service.dto.CategoryDto;
+import com.kyron.automation.backend.service.config.CacheConfig;
+import com.kyron.automation.backend.service.dto.FacetedSearchDto;
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductBatchDto;
+import com.kyron.automation.backend.service.dto.ProductFieldsDto;
 import com.kyron.automation.backend.service.dto.ProductRequestDto;
 import com.kyron.automation.backend.service.dto.ProductResponseDto;
-import com.kyron.automation.backend.service.dto.ReviewDto;
-import com.kyron.automation.backend.service.dto.TagDto;
+import com.kyron.automation.backend.service.dto.ProductSummaryDto;
+import com.kyron.automation.backend.service.dto.ProductVersionDto;
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.dto.SearchFacetsDto;
+import com.kyron.automation.backend.service.dto.VersionedProduct;
+import com.kyron.automation.backend.service.event.ProductChangedEvent;
+import com.kyron.automation.backend.service.mapper.ProductMapper;
 import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
 import com.kyron.automation.backend.service.model.Tag;
 import com.kyron.automation.backend.service.repository.CategoryRepository;
 import com.kyron.automation.backend.service.repository.ProductRepository;
-import com.kyron.automation.backend.service.repository.ReviewRepository;
+import com.kyron.automation.backend.service.repository.ProductSpecifications;
 import com.kyron.automation.backend.service.repository.TagRepository;
+import com.kyron.automation.backend.service.search.ProductFacetIndex;
+import com.kyron.automation.backend.service.search.ProductSearchIndex;
+import com.kyron.automation.backend.service.search.SearchResult;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class ProductService {
+    static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
-    private final ReviewRepository reviewRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFacetIndex facetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final int maxSearchCandidates;
+    private final int maxBatchIds;
 
     public ProductService(ProductRepository productRepository,
                         CategoryRepository categoryRepository,
                         TagRepository tagRepository,
-                        ReviewRepository reviewRepository) {
+                        RatingSummaryService ratingSummaryService,
+                        ProductSearchIndex searchIndex,
+                        ProductFacetIndex facetIndex,
+                        ApplicationEventPublisher eventPublisher,
+                        CacheManager cacheManager,
+                        @Value("${kyron.search.max-candidates:10000}") int maxSearchCandidates,
+                        @Value("${kyron.products.batch.max-ids:100}") int maxBatchIds) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
-        this.reviewRepository = reviewRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.maxSearchCandidates = maxSearchCandidates;
+        this.maxBatchIds = maxBatchIds;
     }
 
     @Transactional
     public ProductResponseDto createProduct(ProductRequestDto requestDto) {
-        Product product = new Product();
-        BeanUtils.copyProperties(requestDto, product, "categoryId", "tagIds");
+        Product product = ProductMapper.toEntity(requestDto);
 
         // Configura a categoria se fornecida
         if (requestDto.getCategoryId() != null) {
@@ -54,61 +98,157 @@ public class ProductService {
 
         // Configura as tags se fornecidas
         if (requestDto.getTagIds() != null && !requestDto.getTagIds().isEmpty()) {
-            Set<Tag> tags = tagRepository.findByIdIn(requestDto.getTagIds());
-            if (tags.size() != requestDto.getTagIds().size()) {
-                throw new EntityNotFoundException("One or more tags were not found");
-            }
-            product.setTags(tags);
-        }
-
-        // Inicializa as coleções para evitar NPE
-        if (product.getTags() == null) {
-            product.setTags(new HashSet<>());
-        }
-        if (product.getReviews() == null) {
-            product.setReviews(new ArrayList<>());
-        }
-        if (product.getImageUrls() == null) {
-            product.setImageUrls(new ArrayList<>());
-        }
-        if (product.getSpecifications() == null) {
-            product.setSpecifications(new HashMap<>());
+            product.setTags(tagReferences(requestDto.getTagIds()));
         }
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct.getId()));
         return convertToResponseDto(savedProduct);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public ProductResponseDto getProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
         return convertToResponseDto(product);
     }
 
-    public List<ProductResponseDto> getAllProducts() {
-        return productRepository.findByActiveTrue().stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    // fields=: uma consulta só com as colunas pedidas, sem passar pelo cache (que guarda o DTO completo)
+    @Transactional(readOnly = true)
+    public ProductFieldsDto getProduct(Long id, ProductView view) {
+        return productRepository.findFields(List.of(id), view.getFields()).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
     }
 
+    // Leitura em lote (carrinho, pedido): as mesmas consultas da segunda fase de uma página, em número fixo
+    // para qualquer quantidade de ids. Ids repetidos voltam uma vez só; ativos e inativos, como em GET /{id}
+    @Transactional(readOnly = true)
+    public ProductBatchDto getProducts(List<Long> ids, ProductView view) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.size() > maxBatchIds) {
+            throw new IllegalArgumentException("At most " + maxBatchIds + " ids per request, got " + distinct.size());
+        }
+        List<?> products = render(distinct, view);
+        Set<Long> found = products.stream()
+                .map(product -> ((VersionedProduct) product).getId())
+                .collect(Collectors.toSet());
+        return new ProductBatchDto(products, distinct.stream().filter(id -> !found.contains(id)).toList());
+    }
+
+    // Validadores HTTP sem montar o DTO: vêm do cache quando o produto já está nele (nenhum acesso ao
+    // banco), senão de uma consulta só com versão e datas pela chave primária
+    public Optional<ProductVersionDto> findProductVersion(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        Cache.ValueWrapper entry = cache != null ? cache.get(id) : null;
+        if (entry != null && entry.get() instanceof ProductResponseDto cached) {
+            LocalDateTime lastModified = cached.getUpdatedAt() != null ? cached.getUpdatedAt() : cached.getCreatedAt();
+            return Optional.of(new ProductVersionDto(id, cached.getVersion(), lastModified));
+        }
+        return productRepository.findVersionById(id)
+                .map(version -> new ProductVersionDto(id, version.getVersion(), version.getLastModified()));
+    }
+
+    @Transactional(readOnly = true)
+    public PageDto<?> getAllProducts(String sortBy, Sort.Direction direction, int page, int size, String cursor, ProductView view) {
+        return listing(ProductSpecifications.isActive(), sortBy, direction, page, size, cursor, view);
+    }
+
+    // Faixa do índice (category_id, active): só os produtos ativos da categoria são lidos
+    @Transactional(readOnly = true)
+    public PageDto<?> getProductsByCategory(Long categoryId, String sortBy, Sort.Direction direction,
+                                            int page, int size, String cursor, ProductView view) {
+        return listing(ProductSpecifications.isActive().and(ProductSpecifications.inCategory(categoryId)),
+                sortBy, direction, page, size, cursor, view);
+    }
+
+    // Parte de product_tags pelo índice (tag_id, product_id) e busca cada produto pela chave primária
+    @Transactional(readOnly = true)
+    public PageDto<?> getProductsByTag(Long tagId, String sortBy, Sort.Direction direction,
+                                       int page, int size, String cursor, ProductView view) {
+        return listing(ProductSpecifications.isActive().and(ProductSpecifications.hasTag(tagId)),
+                sortBy, direction, page, size, cursor, view);
+    }
+
+    private PageDto<?> listing(Specification<Product> spec, String sortBy, Sort.Direction direction,
+                               int page, int size, String cursor, ProductView view) {
+        int pageSize = pageSize(page, size);
+
+        // Modo keyset: o custo não depende da profundidade da página
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor position = ProductCursor.decode(cursor);
+            Window<Product> window = productRepository.findBy(spec, query -> query
+                    .sortBy(ProductCursor.sort(position.getSortBy(), position.getDirection()))
+                    .limit(pageSize)
+                    .scroll(position.toScrollPosition()));
+            List<Long> ids = window.getContent().stream().map(Product::getId).toList();
+            return new PageDto<>(
+                    render(ids, view),
+                    null,
+                    nextCursor(ids, window.hasNext(), position.getSortBy(), position.getDirection()));
+        }
+
+        // Duas fases: ids da página primeiro, depois as entidades e coleções (ou o resumo) em lote
+        Page<Long> ids = productRepository.findIds(spec,
+                PageRequest.of(page, pageSize, ProductCursor.sort(sortBy, direction)));
+        return new PageDto<>(
+                render(ids.getContent(), view),
+                ids.getTotalElements(),
+                nextCursor(ids.getContent(), ids.hasNext(), sortBy, direction));
+    }
+
+    private int pageSize(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page must be >= 0 and size must be >= 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // Na view completa o último produto já está na sessão; na resumida a referência custa uma busca por id
+    private String nextCursor(List<Long> ids, boolean hasNext, String sortBy, Sort.Direction direction) {
+        if (!hasNext || ids.isEmpty()) {
+            return null;
+        }
+        return ProductCursor.encode(sortBy, direction, productRepository.getReferenceById(ids.get(ids.size() - 1)));
+    }
+
+    // Existência via consulta indexada, sem carregar a entidade nem montar o DTO. Mesma visibilidade do
+    // GET /{id}: produtos inativos também existem
+    @Transactional(readOnly = true)
+    public void checkProductExists(Long id) {
+        if (!productRepository.existsById(id)) {
+            throw new EntityNotFoundException("Product not found with id: " + id);
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional
     public ProductResponseDto updateProduct(Long id, ProductRequestDto requestDto) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
+        if (requestDto.getStockQuantity() != null && !requestDto.getStockQuantity().equals(product.getStockQuantity())) {
+            throw new IllegalArgumentException(
+                    "Stock quantity cannot be changed with PUT; use PATCH /api/v1/products/" + id + "/stock");
+        }
         
-        BeanUtils.copyProperties(requestDto, product);
+        ProductMapper.updateEntity(requestDto, product);
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
         return convertToResponseDto(updatedProduct);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
         product.setActive(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional
     public ProductResponseDto addTags(Long id, Set<Long> tagIds) {
         Product product = productRepository.findById(id)
@@ -119,22 +259,16 @@ public class ProductService {
             product.setTags(new HashSet<>());
         }
         
-        // Busca todas as tags solicitadas
-        Set<Tag> tagsToAdd = tagRepository.findByIdIn(tagIds);
-        
-        // Verifica se todas as tags foram encontradas
-        if (tagsToAdd.size() != tagIds.size()) {
-            throw new EntityNotFoundException("One or more tags were not found");
-        }
-        
         // Adiciona as novas tags
-        product.getTags().addAll(tagsToAdd);
+        product.getTags().addAll(tagReferences(tagIds));
         
         // Salva o produto
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
         return convertToResponseDto(savedProduct);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional
     public ProductResponseDto addSpecifications(Long id, Map<String, String> specifications) {
         Product product = productRepository.findById(id)
@@ -142,9 +276,11 @@ public class ProductService {
         
         product.getSpecifications().putAll(specifications);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
         return convertToResponseDto(savedProduct);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional
     public ProductResponseDto addImages(Long id, List<String> imageUrls) {
         Product product = productRepository.findById(id)
@@ -155,119 +291,191 @@ public class ProductService {
         return convertToResponseDto(savedProduct);
     }
 
-    public List<ProductResponseDto> getProductsByCategory(Long categoryId) {
-        return productRepository.findAll().stream()
-                .filter(p -> p.getCategory() != null && p.getCategory().getId().equals(categoryId))
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    // Valida as tags com um COUNT e associa apenas referências, sem carregar as entidades
+    private Set<Tag> tagReferences(Set<Long> tagIds) {
+        if (tagRepository.countByIdIn(tagIds) != tagIds.size()) {
+            throw new EntityNotFoundException("One or more tags were not found");
+        }
+        Set<Tag> tags = new HashSet<>(tagIds.size() * 2);
+        tagIds.forEach(tagId -> tags.add(tagRepository.getReferenceById(tagId)));
+        return tags;
     }
 
-    public List<ProductResponseDto> getProductsByTag(Long tagId) {
-        return productRepository.findAll().stream()
-                .filter(p -> p.getTags().stream().anyMatch(t -> t.getId().equals(tagId)))
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageDto<?> searchProducts(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Long categoryId,
+            Set<Long> tagIds,
+            Double minRating,
+            int page,
+            int size,
+            ProductView view) {
+        int pageSize = pageSize(page, size);
+
+        if (name != null && !name.isBlank() && searchIndex.isReady()) {
+            RankedMatches hits = rankedMatches(name, ProductSpecifications.matching(null, minPrice, maxPrice, categoryId, tagIds, minRating));
+            return new PageDto<>(render(pageOf(hits.ids(), page, pageSize), view), (long) hits.ids().size(), null,
+                    hits.truncated());
+        }
+
+        Specification<Product> spec = ProductSpecifications.matching(name, minPrice, maxPrice, categoryId, tagIds, minRating);
+        Page<Long> ids = productRepository.findIds(spec, PageRequest.of(page, pageSize, Sort.by("id")));
+        return new PageDto<>(render(ids.getContent(), view), ids.getTotalElements(), null);
     }
 
-    public List<ProductResponseDto> searchProducts(
+    // Mesma busca do searchProducts, mais as contagens por categoria, tag, faixa de preço e nota,
+    // calculadas numa única passada sobre o conjunto completo de ids que casaram (ou, com name acima do
+    // limite de candidatos, sobre os candidatos, com truncated=true)
+    @Transactional(readOnly = true)
+    public FacetedSearchDto searchProductsWithFacets(
             String name,
             BigDecimal minPrice,
             BigDecimal maxPrice,
             Long categoryId,
             Set<Long> tagIds,
-            Double minRating) {
-        
-        return productRepository.findAll().stream()
-                .filter(p -> name == null || p.getName().toLowerCase().contains(name.toLowerCase()))
-                .filter(p -> minPrice == null || p.getPrice().compareTo(minPrice) >= 0)
-                .filter(p -> maxPrice == null || p.getPrice().compareTo(maxPrice) <= 0)
-                .filter(p -> categoryId == null || (p.getCategory() != null && p.getCategory().getId().equals(categoryId)))
-                .filter(p -> tagIds == null || !Collections.disjoint(p.getTags().stream().map(Tag::getId).collect(Collectors.toSet()), tagIds))
-                .filter(p -> minRating == null || getProductAverageRating(p.getId()) >= minRating)
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+            Double minRating,
+            int page,
+            int size,
+            ProductView view) {
+        int pageSize = pageSize(page, size);
+
+        RankedMatches hits;
+        if (name != null && !name.isBlank() && searchIndex.isReady()) {
+            hits = rankedMatches(name, ProductSpecifications.matching(null, minPrice, maxPrice, categoryId, tagIds, minRating));
+        } else {
+            hits = new RankedMatches(productRepository.findIds(
+                    ProductSpecifications.matching(name, minPrice, maxPrice, categoryId, tagIds, minRating)), false);
+        }
+        SearchFacetsDto facets = facetIndex.isReady() ? facetIndex.count(hits.ids()) : null;
+        return new FacetedSearchDto(render(pageOf(hits.ids(), page, pageSize), view), hits.ids().size(), facets,
+                hits.truncated());
     }
 
-    private double getProductAverageRating(Long productId) {
-        Double avgRating = reviewRepository.getAverageRatingForProduct(productId);
-        return avgRating != null ? avgRating : 0.0;
+    // Candidatos ranqueados pelo índice; os demais filtros são aplicados no banco só sobre esses ids.
+    // Só os kyron.search.max-candidates mais relevantes viram candidatos (o IN do filtro no banco tem que
+    // caber numa consulta); acima disso o resultado sai marcado como truncado
+    private RankedMatches rankedMatches(String name, Specification<Product> filters) {
+        SearchResult result = searchIndex.search(name, 0, maxSearchCandidates);
+        List<Long> ranked = result.productIds();
+        boolean truncated = result.totalHits() > ranked.size();
+        if (ranked.isEmpty()) {
+            return new RankedMatches(List.of(), truncated);
+        }
+        Set<Long> matching = new HashSet<>(productRepository.findIds(filters.and(ProductSpecifications.idIn(ranked))));
+        return new RankedMatches(ranked.stream().filter(matching::contains).collect(Collectors.toList()), truncated);
     }
 
-    public List<ProductResponseDto> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceRange(minPrice, maxPrice).stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    private record RankedMatches(List<Long> ids, boolean truncated) {
+    }
+
+    private static List<Long> pageOf(List<Long> ids, int page, int pageSize) {
+        int from = (int) Math.min((long) page * pageSize, ids.size());
+        return ids.subList(from, Math.min(from + pageSize, ids.size()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<?> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, ProductView view) {
+        return render(productRepository.findIds(
+                ProductSpecifications.matching(null, minPrice, maxPrice, null, null, null)), view);
+    }
+
+    // Busca ranqueada (BM25) no índice invertido; até o índice ficar pronto, cai no LIKE do banco
+    @Transactional(readOnly = true)
+    public PageDto<?> searchByName(String name, int page, int size, ProductView view) {
+        int pageSize = pageSize(page, size);
+        if (searchIndex.isReady()) {
+            // Em long, como em pageOf: page * size passaria de Integer.MAX_VALUE em páginas muito distantes
+            int offset = (int) Math.min((long) page * pageSize, Integer.MAX_VALUE);
+            SearchResult result = searchIndex.search(name, offset, pageSize);
+            return new PageDto<>(render(activeInOrder(result.productIds()), view), (long) result.totalHits(), null);
+        }
+        Page<Long> ids = productRepository.findIds(
+                ProductSpecifications.matching(name, null, null, null, null, null),
+                PageRequest.of(page, pageSize, Sort.by("id")));
+        return new PageDto<>(render(ids.getContent(), view), ids.getTotalElements(), null);
+    }
+
+    // O índice é atualizado depois do commit; um produto recém-desativado ainda pode aparecer nele
+    private List<Long> activeInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Set<Long> active = new HashSet<>(productRepository.findIds(
+                ProductSpecifications.isActive().and(ProductSpecifications.idIn(ids))));
+        return ids.stream().filter(active::contains).collect(Collectors.toList());
+    }
+
+    // Segunda fase das listagens, na forma pedida pelo cliente
+    private List<?> render(List<Long> ids, ProductView view) {
+        if (view.isSparse()) {
+            return findFieldsInOrder(ids, view);
+        }
+        return view == ProductView.SUMMARY
+                ? findSummariesInOrder(ids)
+                : convertToResponseDtos(findAllInOrder(ids));
     }
 
-    public List<ProductResponseDto> searchByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::convertToResponseDto)
+    private List<ProductFieldsDto> findFieldsInOrder(List<Long> ids, ProductView view) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductFieldsDto> byId = productRepository.findFields(ids, view.getFields()).stream()
+                .collect(Collectors.toMap(ProductFieldsDto::getId, product -> product));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    private ProductResponseDto convertToResponseDto(Product product) {
-        ProductResponseDto responseDto = new ProductResponseDto();
-        
-        // Copiando propriedades básicas
-        responseDto.setId(product.getId());
-        responseDto.setName(product.getName());
-        responseDto.setDescription(product.getDescription());
-        responseDto.setPrice(product.getPrice());
-        responseDto.setStockQuantity(product.getStockQuantity());
-        responseDto.setCreatedAt(product.getCreatedAt());
-        responseDto.setUpdatedAt(product.getUpdatedAt());
-        responseDto.setActive(product.getActive());
-        
-        // Configurando categoria
-        if (product.getCategory() != null) {
-            CategoryDto categoryDto = new CategoryDto();
-            BeanUtils.copyProperties(product.getCategory(), categoryDto);
-            responseDto.setCategory(categoryDto);
+    private List<ProductSummaryDto> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        
-        // Configurando tags
-        if (product.getTags() != null) {
-            Set<TagDto> tagDtos = product.getTags().stream()
-                .map(tag -> {
-                    TagDto tagDto = new TagDto();
-                    BeanUtils.copyProperties(tag, tagDto);
-                    return tagDto;
-                })
-                .collect(Collectors.toSet());
-            responseDto.setTags(tagDtos);
-        } else {
-            responseDto.setTags(new HashSet<>());
+        Map<Long, ProductSummaryDto> byId = productRepository.findSummaries(ids).stream()
+                .collect(Collectors.toMap(ProductSummaryDto::getId, summary -> summary));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Segunda fase das listagens: carrega os produtos com todas as coleções na ordem dos ids informados
+    private List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        
-        // Configurando reviews
-        if (product.getReviews() != null) {
-            List<ReviewDto> reviewDtos = product.getReviews().stream()
-                .map(review -> {
-                    ReviewDto reviewDto = new ReviewDto();
-                    BeanUtils.copyProperties(review, reviewDto);
-                    return reviewDto;
-                })
+        Map<Long, Product> byId = productRepository.findAllWithAssociations(ids).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-            responseDto.setReviews(reviewDtos);
-        } else {
-            responseDto.setReviews(new ArrayList<>());
+    }
+
+    // Uma única busca por chave em product_rating_summary para a página inteira
+    List<ProductResponseDto> convertToResponseDtos(List<Product> products) {
+        Map<Long, ProductRatingSummary> ratings = loadRatings(products);
+        List<ProductResponseDto> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            dtos.add(ProductMapper.toResponseDto(product, ratings.get(product.getId())));
         }
-        
-        // Configurando imageUrls e specifications
-        responseDto.setImageUrls(product.getImageUrls() != null ? new ArrayList<>(product.getImageUrls()) : new ArrayList<>());
-        responseDto.setSpecifications(product.getSpecifications() != null ? new HashMap<>(product.getSpecifications()) : new HashMap<>());
-        
-        // Calculando e configurando informações das reviews
-        if (product.getId() != null) {
-            Double avgRating = reviewRepository.getAverageRatingForProduct(product.getId());
-            Integer totalReviews = reviewRepository.getReviewCountForProduct(product.getId());
-            responseDto.setAverageRating(avgRating != null ? avgRating : 0.0);
-            responseDto.setTotalReviews(totalReviews != null ? totalReviews : 0);
-        } else {
-            responseDto.setAverageRating(0.0);
-            responseDto.setTotalReviews(0);
+        return dtos;
+    }
+
+    private Map<Long, ProductRatingSummary> loadRatings(List<Product> products) {
+        List<Long> productIds = products.stream()
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (productIds.isEmpty()) {
+            return Collections.emptyMap();
         }
-        
-        return responseDto;
+        return ratingSummaryService.getSummaries(productIds);
+    }
+
+    private ProductResponseDto convertToResponseDto(Product product) {
+        return convertToResponseDtos(List.of(product)).get(0);
     }
 }
@@ -0,0 +1,37 @@
+package com.kyron.automation.backend.service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RatingSummaryReconciliationJob {
+    private static final Logger log = LoggerFactory.getLogger(RatingSummaryReconciliationJob.class);
+
+    private final RatingSummaryService ratingSummaryService;
+    private final boolean reconcileOnStartup;
+
+    public RatingSummaryReconciliationJob(RatingSummaryService ratingSummaryService,
+                                          @Value("${kyron.ratings.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.ratingSummaryService = ratingSummaryService;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${kyron.ratings.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int rebuilt = ratingSummaryService.rebuildAll();
+        log.info("Rebuilt {} product rating summaries in {} ms", rebuilt, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,176 @@
+package com.kyron.automation.backend.service.service;
+
+import com.kyron.automation.backend.service.config.CacheConfig;
+import com.kyron.automation.backend.service.event.ProductChangedEvent;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+import com.kyron.automation.backend.service.repository.ProductRatingSummaryRepository;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class RatingSummaryService {
+    private static final int TOUCH_BATCH_SIZE = 1000;
+    // Coluna average_rating em findAllStates: incremental e AVG podem divergir só no último bit
+    private static final int AVERAGE_COLUMN = 3;
+
+    private final ProductRatingSummaryRepository summaryRepository;
+    private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
+    // Escritas de notas (leitura) x reconstrução (escrita): a reconstrução só começa quando nenhuma
+    // transação com notas novas está aberta nesta instância, e segura as novas até terminar
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    public RatingSummaryService(ProductRatingSummaryRepository summaryRepository,
+                                ProductRepository productRepository,
+                                CacheManager cacheManager,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Executa na mesma transação de quem grava a review
+    @Transactional
+    public void recordRating(Long productId, int rating) {
+        holdUntilCompletion();
+        if (summaryRepository.incrementRating(productId, rating) == 0) {
+            createEmptySummary(productId);
+            summaryRepository.incrementRating(productId, rating);
+        }
+    }
+
+    // Versão em lote do recordRating: um único UPDATE por produto, qualquer que seja o número de notas
+    @Transactional
+    public void recordRatings(Long productId, Collection<Integer> ratings) {
+        holdUntilCompletion();
+        ProductRatingSummary delta = new ProductRatingSummary(productId);
+        ratings.forEach(delta::addRating);
+        if (summaryRepository.incrementBy(delta) == 0) {
+            createEmptySummary(productId);
+            summaryRepository.incrementBy(delta);
+        }
+    }
+
+    // Primeira nota do produto: a linha zerada nasce na transação corrente, sem pedir outra conexão ao
+    // pool. O lock na linha do produto faz uma escrita concorrente esperar o commit desta e então pular o
+    // INSERT. O incremento é sempre um UPDATE, sem corrida de INSERT
+    private void createEmptySummary(Long productId) {
+        summaryRepository.lockProduct(productId);
+        summaryRepository.insertEmpty(productId);
+    }
+
+    private void holdUntilCompletion() {
+        rebuildLock.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                rebuildLock.readLock().unlock();
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ProductRatingSummary> getSummaries(Collection<Long> productIds) {
+        return summaryRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductRatingSummary::getProductId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductRatingSummary getSummary(Long productId) {
+        return summaryRepository.findById(productId)
+                .orElseGet(() -> new ProductRatingSummary(productId));
+    }
+
+    // Apaga e recalcula tudo numa transação própria, sem escritas de notas desta instância em andamento.
+    // Outras instâncias não passam por esse lock: com várias, a reconstrução precisa de acesso exclusivo
+    // (escritas de reviews paradas). Os DTOs em cache guardam a nota média e são descartados no fim.
+    // Produtos cujo resumo mudou ganham nova versão (o ETag de quem guardou a nota antiga deixa de casar)
+    // e são reindexados, como numa review nova
+    public int rebuildAll() {
+        rebuildLock.writeLock().lock();
+        try {
+            Integer rebuilt = newTransaction.execute(status -> {
+                Map<Long, Object[]> before = states();
+                summaryRepository.deleteAllInBatch();
+                int inserted = summaryRepository.insertFromReviews();
+                touchChanged(before, states());
+                return inserted;
+            });
+            Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+            return rebuilt != null ? rebuilt : 0;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Object[]> states() {
+        Map<Long, Object[]> states = new HashMap<>();
+        for (Object[] row : summaryRepository.findAllStates()) {
+            states.put(((Number) row[0]).longValue(), row);
+        }
+        return states;
+    }
+
+    private void touchChanged(Map<Long, Object[]> before, Map<Long, Object[]> after) {
+        Set<Long> candidates = new HashSet<>(before.keySet());
+        candidates.addAll(after.keySet());
+        List<Long> changed = candidates.stream()
+                .filter(productId -> !sameState(before.get(productId), after.get(productId)))
+                .sorted()
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < changed.size(); from += TOUCH_BATCH_SIZE) {
+            List<Long> batch = new ArrayList<>(changed.subList(from, Math.min(from + TOUCH_BATCH_SIZE, changed.size())));
+            productRepository.touch(batch, now);
+            eventPublisher.publishEvent(new ProductChangedEvent(batch));
+        }
+    }
+
+    private static boolean sameState(Object[] before, Object[] after) {
+        if (before == null || after == null) {
+            return before == after;
+        }
+        for (int i = 0; i < before.length; i++) {
+            if (i == AVERAGE_COLUMN) {
+                if (Math.abs(((Number) before[i]).doubleValue() - ((Number) after[i]).doubleValue()) > 1e-9) {
+                    return false;
+                }
+            } else if (!Objects.equals(before[i], after[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
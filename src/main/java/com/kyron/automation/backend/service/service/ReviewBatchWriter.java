@@ -0,0 +1,76 @@
+package com.kyron.automation.backend.service.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kyron.automation.backend.service.event.ProductChangedEvent;
+import com.kyron.automation.backend.service.mapper.ReviewMapper;
+import com.kyron.automation.backend.service.model.Review;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+import com.kyron.automation.backend.service.repository.ProductSpecifications;
+import com.kyron.automation.backend.service.repository.ReviewRepository;
+
+// Grava um lote da fila de ingestão numa única transação: uma verificação de existência para todos
+// os produtos do lote, insert em lote das reviews e uma atualização do resumo de notas por produto
+@Service
+public class ReviewBatchWriter {
+    private final ReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReviewBatchWriter(ReviewRepository reviewRepository,
+                             ProductRepository productRepository,
+                             RatingSummaryService ratingSummaryService,
+                             ApplicationEventPublisher eventPublisher) {
+        this.reviewRepository = reviewRepository;
+        this.productRepository = productRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Devolve o id gravado de cada review, na ordem do lote; nulo quando o produto não existe
+    @Transactional
+    public List<Long> write(List<PendingReview> batch) {
+        Set<Long> requested = new HashSet<>();
+        batch.forEach(pending -> requested.add(pending.getProductId()));
+        Set<Long> existing = new HashSet<>(productRepository.findIds(ProductSpecifications.idIn(requested)));
+
+        List<Review> reviews = new ArrayList<>(batch.size());
+        // Em ordem de id: lotes concorrentes travam as linhas de produto na mesma ordem
+        Map<Long, List<Integer>> ratingsByProduct = new TreeMap<>();
+        for (PendingReview pending : batch) {
+            if (!existing.contains(pending.getProductId())) {
+                reviews.add(null);
+                continue;
+            }
+            Review review = ReviewMapper.toEntity(pending.getReview());
+            review.setProduct(productRepository.getReferenceById(pending.getProductId()));
+            reviews.add(review);
+            ratingsByProduct.computeIfAbsent(pending.getProductId(), id -> new ArrayList<>()).add(review.getRating());
+        }
+
+        // Ids de sequence alocados em bloco permitem que o Hibernate agrupe os inserts (hibernate.jdbc.batch_size)
+        reviewRepository.saveAll(reviews.stream().filter(review -> review != null).toList());
+        if (!ratingsByProduct.isEmpty()) {
+            // Linhas de produto antes das de resumo, a mesma ordem do ReviewService.addReview
+            productRepository.touch(ratingsByProduct.keySet(), LocalDateTime.now());
+            ratingsByProduct.forEach(ratingSummaryService::recordRatings);
+            eventPublisher.publishEvent(new ProductChangedEvent(new LinkedHashSet<>(ratingsByProduct.keySet())));
+        }
+
+        List<Long> ids = new ArrayList<>(reviews.size());
+        reviews.forEach(review -> ids.add(review != null ? review.getId() : null));
+        return ids;
+    }
+}
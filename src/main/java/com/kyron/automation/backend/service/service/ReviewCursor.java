@@ -0,0 +1,81 @@
+package com.kyron.automation.backend.service.service;
+
+import com.kyron.automation.backend.service.model.Review;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Cursor opaco sobre (sortKey, id) para a paginação por keyset das reviews de um produto
+final class ReviewCursor {
+    static final Set<String> SORT_KEYS = Set.of("createdAt", "rating");
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final String sortValue;
+    private final Long id;
+
+    private ReviewCursor(String sortBy, Sort.Direction direction, String sortValue, Long id) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    // O id desempata na mesma direção, o que mantém a ordem total exigida pelo keyset
+    static Sort sort(String sortBy, Sort.Direction direction) {
+        String key = sortBy != null ? sortBy : "createdAt";
+        if (!SORT_KEYS.contains(key)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + sortBy + ". Allowed: " + SORT_KEYS);
+        }
+        return Sort.by(direction, key).and(Sort.by(direction, "id"));
+    }
+
+    static String encode(String sortBy, Sort.Direction direction, Review last) {
+        String key = sortBy != null ? sortBy : "createdAt";
+        Object value = "rating".equals(key) ? last.getRating() : last.getCreatedAt();
+        String raw = String.join(SEPARATOR, key, direction.name(), String.valueOf(value), String.valueOf(last.getId()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !SORT_KEYS.contains(parts[0])) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            ReviewCursor cursor = new ReviewCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[2], Long.valueOf(parts[3]));
+            cursor.parseSortValue();
+            return cursor;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+
+    String getSortBy() {
+        return sortBy;
+    }
+
+    Sort.Direction getDirection() {
+        return direction;
+    }
+
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortBy, parseSortValue());
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private Object parseSortValue() {
+        return "rating".equals(sortBy) ? Integer.valueOf(sortValue) : LocalDateTime.parse(sortValue);
+    }
+}
@@ -0,0 +1,217 @@
+package com.kyron.automation.backend.service.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kyron.automation.backend.service.config.CacheConfig;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.dto.ReviewSubmissionDto;
+import com.kyron.automation.backend.service.exception.ReviewQueueFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Ingestão assíncrona de reviews: a requisição só valida e enfileira (fila limitada, 429 quando cheia);
+// uma thread dedicada drena a fila em lotes pelo ReviewBatchWriter. No desligamento a fila para de
+// aceitar e é esvaziada antes do fechamento do banco.
+@Component
+public class ReviewIngestionQueue implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ReviewIngestionQueue.class);
+
+    // Para depois do servidor web (que já não entrega requisições) e antes do banco ser fechado
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long POLL_MILLIS = 200;
+
+    private final ReviewBatchWriter batchWriter;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<PendingReview> queue;
+    // Situação das submissões recentes, para consulta pelo trackingId
+    private final com.github.benmanes.caffeine.cache.Cache<String, ReviewSubmissionDto> submissions;
+    private final Counter rejected;
+    private final Counter written;
+    private final DistributionSummary batchSizes;
+    private final Timer batchWrites;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ReviewIngestionQueue(ReviewBatchWriter batchWriter,
+                                CacheManager cacheManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${kyron.reviews.ingestion.enabled:false}") boolean enabled,
+                                @Value("${kyron.reviews.ingestion.queue-capacity:10000}") int queueCapacity,
+                                @Value("${kyron.reviews.ingestion.batch-size:200}") int batchSize,
+                                @Value("${kyron.reviews.ingestion.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.batchWriter = batchWriter;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.submissions = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        Gauge.builder("kyron.reviews.queue.depth", queue, BlockingQueue::size)
+                .description("Reviews accepted and waiting to be written")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("kyron.reviews.queue.rejected").register(meterRegistry);
+        this.written = Counter.builder("kyron.reviews.written").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("kyron.reviews.batch.size").register(meterRegistry);
+        this.batchWrites = Timer.builder("kyron.reviews.batch.write.time").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ReviewSubmissionDto submit(Long productId, ReviewDto review) {
+        if (!accepting) {
+            throw new ReviewQueueFullException("Review ingestion is not accepting submissions");
+        }
+        String trackingId = UUID.randomUUID().toString();
+        ReviewSubmissionDto submission = new ReviewSubmissionDto(trackingId, productId, ReviewSubmissionDto.Status.PENDING, null, null);
+        submissions.put(trackingId, submission);
+        if (!queue.offer(new PendingReview(trackingId, productId, review))) {
+            submissions.invalidate(trackingId);
+            rejected.increment();
+            throw new ReviewQueueFullException("Review queue is full, retry later");
+        }
+        return submission;
+    }
+
+    public ReviewSubmissionDto getSubmission(String trackingId) {
+        return submissions.getIfPresent(trackingId);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        running = true;
+        worker = new Thread(this::drainLoop, "review-ingestion");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Review ingestion did not drain within {}; {} reviews left in the queue", shutdownTimeout, queue.size());
+            worker.interrupt();
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // Depois de stop() continua até a fila esvaziar
+    private void drainLoop() {
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReview first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error in review ingestion", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Uma linha ruim (violação de constraint, por exemplo) desfaz a transação do lote inteiro: o lote é
+    // dividido ao meio até isolá-la, e as reviews válidas são gravadas. Só a linha isolada fica FAILED
+    private void flush(List<PendingReview> batch) {
+        batchSizes.record(batch.size());
+        List<Long> ids;
+        Timer.Sample sample = Timer.start();
+        try {
+            ids = batchWriter.write(batch);
+            sample.stop(batchWrites);
+        } catch (RuntimeException ex) {
+            sample.stop(batchWrites);
+            if (batch.size() > 1) {
+                log.warn("Failed to write a batch of {} reviews, retrying it in halves: {}", batch.size(), ex.toString());
+                int half = batch.size() / 2;
+                flush(batch.subList(0, half));
+                flush(batch.subList(half, batch.size()));
+                return;
+            }
+            PendingReview pending = batch.get(0);
+            log.error("Failed to write review {} for product {}", pending.getTrackingId(), pending.getProductId(), ex);
+            update(pending, ReviewSubmissionDto.Status.FAILED, null, "Review could not be stored");
+            return;
+        }
+
+        // Após o commit: o cache de produtos guarda a nota média e as reviews de cada produto
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingReview pending = batch.get(i);
+            Long reviewId = ids.get(i);
+            if (reviewId == null) {
+                update(pending, ReviewSubmissionDto.Status.REJECTED, null, "Product not found with id: " + pending.getProductId());
+                continue;
+            }
+            update(pending, ReviewSubmissionDto.Status.WRITTEN, reviewId, null);
+            if (products != null) {
+                products.evict(pending.getProductId());
+            }
+        }
+        written.increment(ids.stream().filter(Objects::nonNull).count());
+    }
+
+    private void update(PendingReview pending, ReviewSubmissionDto.Status status, Long reviewId, String error) {
+        submissions.put(pending.getTrackingId(),
+                new ReviewSubmissionDto(pending.getTrackingId(), pending.getProductId(), status, reviewId, error));
+    }
+}
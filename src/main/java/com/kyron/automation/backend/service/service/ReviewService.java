@@ -1,15 +1,29 @@
 package com.kyron.automation.backend.service.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kyron.automation.backend.service.config.CacheConfig;
+import com.kyron.automation.backend.service.dto.PageDto;
 import com.kyron.automation.backend.service.dto.ReviewDto;
 import com.kyron.automation.backend.service.dto.ReviewSummaryDto;
+import com.kyron.automation.backend.service.event.ProductChangedEvent;
+import com.kyron.automation.backend.service.mapper.ReviewMapper;
 import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
 import com.kyron.automation.backend.service.model.Review;
 import com.kyron.automation.backend.service.repository.ProductRepository;
 import com.kyron.automation.backend.service.repository.ReviewRepository;
@@ -20,44 +34,101 @@ import jakarta.persistence.EntityNotFoundException;
 public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository, ProductRepository productRepository) {
+    public ReviewService(ReviewRepository reviewRepository,
+                        ProductRepository productRepository,
+                        RatingSummaryService ratingSummaryService,
+                        ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.productRepository = productRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     @Transactional
     public ReviewDto addReview(Long productId, ReviewDto reviewDto) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + productId));
 
-        Review review = new Review();
-        BeanUtils.copyProperties(reviewDto, review);
+        Review review = ReviewMapper.toEntity(reviewDto);
         review.setProduct(product);
 
         Review savedReview = reviewRepository.save(review);
-        ReviewDto savedDto = new ReviewDto();
-        BeanUtils.copyProperties(savedReview, savedDto);
-        return savedDto;
+        // Reviews e nota média fazem parte da representação do produto: nova versão para o ETag. Antes do
+        // resumo: toda escrita trava a linha do produto e depois a do resumo, sempre nessa ordem
+        productRepository.touch(List.of(productId), LocalDateTime.now());
+        ratingSummaryService.recordRating(productId, savedReview.getRating());
+        // A nota média alimenta a faceta de avaliação
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
+
+        return ReviewMapper.toDto(savedReview);
+    }
+
+    // Paginação no banco: por offset (page/size) ou por keyset (cursor), ordenada por data ou nota.
+    // O custo de uma página não depende de quantas reviews o produto tem
+    @Transactional(readOnly = true)
+    public PageDto<ReviewDto> getProductReviews(Long productId, String sortBy, Sort.Direction direction,
+                                                int page, int size, String cursor) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page must be >= 0 and size must be >= 1");
+        }
+        int pageSize = Math.min(size, ProductService.MAX_PAGE_SIZE);
+
+        if (cursor != null && !cursor.isBlank()) {
+            ReviewCursor position = ReviewCursor.decode(cursor);
+            Window<Review> window = reviewRepository.findByProductId(
+                    productId,
+                    position.toScrollPosition(),
+                    ReviewCursor.sort(position.getSortBy(), position.getDirection()),
+                    Limit.of(pageSize));
+            return new PageDto<>(
+                    toDtos(window.getContent()),
+                    null,
+                    nextCursor(window.getContent(), window.hasNext(), position.getSortBy(), position.getDirection()));
+        }
+
+        Slice<Review> reviews = reviewRepository.findByProductId(
+                productId, PageRequest.of(page, pageSize, ReviewCursor.sort(sortBy, direction)));
+        // Total lido do resumo desnormalizado em vez de um COUNT sobre todas as reviews do produto
+        long total = ratingSummaryService.getSummary(productId).getTotalReviews();
+        return new PageDto<>(
+                toDtos(reviews.getContent()),
+                total,
+                nextCursor(reviews.getContent(), reviews.hasNext(), sortBy, direction));
     }
 
-    public List<ReviewDto> getProductReviews(Long productId, int page, int size) {
-        return reviewRepository.findByProductId(productId).stream()
-                .map(review -> {
-                    ReviewDto dto = new ReviewDto();
-                    BeanUtils.copyProperties(review, dto);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    private static List<ReviewDto> toDtos(List<Review> reviews) {
+        List<ReviewDto> dtos = new ArrayList<>(reviews.size());
+        for (Review review : reviews) {
+            dtos.add(ReviewMapper.toDto(review));
+        }
+        return dtos;
+    }
+
+    private static String nextCursor(List<Review> reviews, boolean hasNext, String sortBy, Sort.Direction direction) {
+        if (!hasNext || reviews.isEmpty()) {
+            return null;
+        }
+        return ReviewCursor.encode(sortBy, direction, reviews.get(reviews.size() - 1));
     }
 
     public ReviewSummaryDto getReviewSummary(Long productId) {
-        Double avgRating = reviewRepository.getAverageRatingForProduct(productId);
-        Integer totalReviews = reviewRepository.getReviewCountForProduct(productId);
-        
+        ProductRatingSummary summary = ratingSummaryService.getSummary(productId);
+
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, summary.getOneStarCount());
+        distribution.put(2, summary.getTwoStarCount());
+        distribution.put(3, summary.getThreeStarCount());
+        distribution.put(4, summary.getFourStarCount());
+        distribution.put(5, summary.getFiveStarCount());
+
         return new ReviewSummaryDto(
-            avgRating != null ? avgRating : 0.0,
-            totalReviews != null ? totalReviews : 0
+            summary.getAverageRating(),
+            summary.getTotalReviews().intValue(),
+            distribution
         );
     }
 }
@@ -0,0 +1,96 @@
+package com.kyron.automation.backend.service.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kyron.automation.backend.service.model.StockLease;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+import com.kyron.automation.backend.service.repository.StockLeaseRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Operações de banco do HotStockCounter, cada uma numa transação curta. O estoque do produto e o lease
+// mudam sempre juntos: o que sai de products.stock_quantity entra em leased, e o que volta sai do lease
+@Component
+public class StockLeaseLedger {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final StockLeaseRepository leaseRepository;
+
+    public StockLeaseLedger(ProductRepository productRepository, StockLeaseRepository leaseRepository) {
+        this.productRepository = productRepository;
+        this.leaseRepository = leaseRepository;
+    }
+
+    // Tira até 'wanted' unidades do produto para o lease (criando-o se preciso). Concede menos, ou zero,
+    // quando o estoque não basta; outra escrita concorrente no produto só faz a baixa ser tentada de novo
+    @Transactional
+    public Grant lease(Long productId, Long leaseId, String instanceId, int wanted) {
+        if (!productRepository.existsByIdAndActiveTrue(productId)) {
+            throw new EntityNotFoundException("Product not found with id: " + productId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Integer stock = productRepository.findStockQuantityById(productId);
+            int quantity = stock == null ? 0 : Math.min(wanted, stock);
+            if (quantity <= 0) {
+                return new Grant(leaseId, 0, 0);
+            }
+            if (productRepository.decrementStock(productId, quantity, now) == 1) {
+                Long id = leaseId != null && leaseRepository.extend(leaseId, quantity, now,
+                        StockLease.Status.OPEN, StockLease.Status.CLOSED) == 1
+                        ? leaseId
+                        : open(productId, instanceId, quantity, now);
+                return new Grant(id, quantity, stock - quantity);
+            }
+        }
+        return new Grant(leaseId, 0, 0);
+    }
+
+    // Heartbeat da instância com o total já vendido do lease; false se o lease já foi fechado
+    @Transactional
+    public boolean recordConsumed(Long leaseId, int consumed) {
+        return leaseRepository.recordConsumed(leaseId, consumed, LocalDateTime.now(),
+                StockLease.Status.OPEN, StockLease.Status.CLOSED) == 1;
+    }
+
+    // Fechamento ordenado: o que não foi vendido volta para o produto na mesma transação
+    @Transactional
+    public boolean close(Long leaseId, Long productId, int consumed, int unused) {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.close(leaseId, consumed, now, StockLease.Status.CLOSED) == 0) {
+            return false;
+        }
+        if (unused > 0) {
+            productRepository.incrementStock(productId, unused, now);
+        }
+        return true;
+    }
+
+    // Leases de outras instâncias sem heartbeat desde 'before' (instância morta sem fechar os leases).
+    // Só são marcados: o saldo não volta ao estoque, porque não há como separar o que foi vendido
+    // depois do último heartbeat do que nunca foi vendido
+    @Transactional
+    public List<StockLease> abandonStale(String instanceId, LocalDateTime before) {
+        List<StockLease> abandoned = new ArrayList<>();
+        for (StockLease lease : leaseRepository.findStale(StockLease.Status.OPEN, before, instanceId)) {
+            if (leaseRepository.abandon(lease.getId(), before, StockLease.Status.OPEN, StockLease.Status.ABANDONED) == 1) {
+                abandoned.add(lease);
+            }
+        }
+        return abandoned;
+    }
+
+    private Long open(Long productId, String instanceId, int quantity, LocalDateTime now) {
+        StockLease lease = new StockLease(null, productId, instanceId, StockLease.Status.OPEN, quantity, 0, now, now, null);
+        return leaseRepository.save(lease).getId();
+    }
+
+    public record Grant(Long leaseId, int granted, int remainingStock) {
+    }
+}
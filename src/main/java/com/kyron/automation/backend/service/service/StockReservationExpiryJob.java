@@ -0,0 +1,26 @@
+package com.kyron.automation.backend.service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Devolve ao estoque as reservas que passaram do prazo sem confirmação
+@Component
+public class StockReservationExpiryJob {
+    private static final Logger log = LoggerFactory.getLogger(StockReservationExpiryJob.class);
+
+    private final StockService stockService;
+
+    public StockReservationExpiryJob(StockService stockService) {
+        this.stockService = stockService;
+    }
+
+    @Scheduled(fixedDelayString = "${kyron.stock.reservations.expiry-interval:30s}")
+    public void expireReservations() {
+        int expired = stockService.expireDue();
+        if (expired > 0) {
+            log.info("Expired {} stock reservations", expired);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.kyron.automation.backend.service.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kyron.automation.backend.service.config.CacheConfig;
+import com.kyron.automation.backend.service.dto.StockLevelDto;
+import com.kyron.automation.backend.service.dto.StockReservationDto;
+import com.kyron.automation.backend.service.dto.StockReservationItemDto;
+import com.kyron.automation.backend.service.dto.StockReservationRequestDto;
+import com.kyron.automation.backend.service.exception.InsufficientStockException;
+import com.kyron.automation.backend.service.exception.ReservationNotActiveException;
+import com.kyron.automation.backend.service.mapper.StockReservationMapper;
+import com.kyron.automation.backend.service.model.StockReservation;
+import com.kyron.automation.backend.service.model.StockReservationItem;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+import com.kyron.automation.backend.service.repository.StockReservationRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Estoque só muda por delta, com UPDATE condicional no banco (nunca lê, calcula e regrava), então baixas
+// concorrentes no mesmo produto não se perdem nem vendem além do estoque. Cada operação é uma transação
+// curta; o cache do produto é invalidado depois do commit
+@Service
+public class StockService {
+    // Limite de um ajuste avulso: -quantity nunca estoura int e a soma não estoura a coluna
+    private static final int MAX_ADJUSTMENT = 1_000_000;
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final HotStockCounter hotStockCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final Duration reservationTtl;
+    private final int maxReservationItems;
+    private final int expiryBatchSize;
+
+    public StockService(ProductRepository productRepository,
+                        StockReservationRepository reservationRepository,
+                        HotStockCounter hotStockCounter,
+                        TransactionTemplate transactionTemplate,
+                        CacheManager cacheManager,
+                        @Value("${kyron.stock.reservations.ttl:15m}") Duration reservationTtl,
+                        @Value("${kyron.stock.reservations.max-items:100}") int maxReservationItems,
+                        @Value("${kyron.stock.reservations.expiry-batch-size:500}") int expiryBatchSize) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.hotStockCounter = hotStockCounter;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.reservationTtl = reservationTtl;
+        this.maxReservationItems = maxReservationItems;
+        this.expiryBatchSize = expiryBatchSize;
+    }
+
+    // quantity positivo repõe, negativo dá baixa (409 se faltar estoque). Baixas de SKUs quentes saem
+    // do saldo em memória do HotStockCounter; reservas e reposições sempre passam pelo banco
+    public StockLevelDto adjustStock(Long productId, int quantity) {
+        if (quantity == 0) {
+            throw new IllegalArgumentException("Quantity must not be zero");
+        }
+        if (quantity < -MAX_ADJUSTMENT || quantity > MAX_ADJUSTMENT) {
+            throw new IllegalArgumentException("Quantity must be between -" + MAX_ADJUSTMENT + " and " + MAX_ADJUSTMENT);
+        }
+        if (quantity < 0) {
+            StockLevelDto hot = hotStockCounter.decrement(productId, -quantity);
+            if (hot != null) {
+                return hot;
+            }
+        }
+        StockLevelDto level = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (quantity > 0) {
+                if (productRepository.incrementStock(productId, quantity, now) == 0) {
+                    throw new EntityNotFoundException("Product not found with id: " + productId);
+                }
+            } else {
+                decrement(productId, -quantity, now);
+            }
+            return new StockLevelDto(productId, productRepository.findStockQuantityById(productId));
+        });
+        evict(List.of(productId));
+        return level;
+    }
+
+    // Tudo ou nada numa transação: se um item falhar, o rollback desfaz as baixas anteriores
+    public StockReservationDto reserve(StockReservationRequestDto request) {
+        Map<Long, Integer> lines = mergeLines(request.getItems());
+        StockReservationDto reservation = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // Ordem crescente de id: reservas com produtos em comum travam as linhas na mesma ordem
+            lines.forEach((productId, quantity) -> decrement(productId, quantity, now));
+
+            StockReservation entity = new StockReservation();
+            entity.setStatus(StockReservation.Status.ACTIVE);
+            entity.setCreatedAt(now);
+            entity.setExpiresAt(now.plus(reservationTtl));
+            lines.forEach((productId, quantity) -> entity.getItems().add(new StockReservationItem(productId, quantity)));
+            return StockReservationMapper.toDto(reservationRepository.save(entity));
+        });
+        evict(lines.keySet());
+        return reservation;
+    }
+
+    public StockReservationDto getReservation(UUID id) {
+        return transactionTemplate.execute(status -> StockReservationMapper.toDto(findReservation(id)));
+    }
+
+    // Confirmar mantém a baixa; só vale enquanto a reserva está ativa e dentro do prazo
+    public StockReservationDto confirm(UUID id) {
+        return transactionTemplate.execute(status -> {
+            int updated = reservationRepository.transitionIfNotExpired(
+                    id, StockReservation.Status.ACTIVE, StockReservation.Status.CONFIRMED, LocalDateTime.now());
+            if (updated == 0) {
+                throw notActive(findReservation(id));
+            }
+            return StockReservationMapper.toDto(findReservation(id));
+        });
+    }
+
+    public void release(UUID id) {
+        if (!restore(id, StockReservation.Status.RELEASED)) {
+            throw notActive(findReservation(id));
+        }
+    }
+
+    // Chamado pelo job de expiração; cada reserva é devolvida na sua própria transação
+    public int expireDue() {
+        int expired = 0;
+        List<UUID> due;
+        do {
+            due = reservationRepository.findIdsExpiredBy(
+                    StockReservation.Status.ACTIVE, LocalDateTime.now(), Limit.of(expiryBatchSize));
+            for (UUID id : due) {
+                if (restore(id, StockReservation.Status.EXPIRED)) {
+                    expired++;
+                }
+            }
+        } while (due.size() == expiryBatchSize);
+        return expired;
+    }
+
+    // Devolve o estoque de uma reserva ativa. false quando outra chamada (confirmação, liberação ou o
+    // job) já a tirou de ACTIVE: a transição condicional garante que o estoque volta uma vez só
+    private boolean restore(UUID id, StockReservation.Status to) {
+        List<Long> productIds = transactionTemplate.execute(status -> {
+            if (reservationRepository.transition(id, StockReservation.Status.ACTIVE, to) == 0) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<StockReservationItem> items = findReservation(id).getItems().stream()
+                    .sorted(Comparator.comparing(StockReservationItem::getProductId))
+                    .toList();
+            for (StockReservationItem item : items) {
+                productRepository.incrementStock(item.getProductId(), item.getQuantity(), now);
+            }
+            return items.stream().map(StockReservationItem::getProductId).toList();
+        });
+        if (productIds == null) {
+            return false;
+        }
+        evict(productIds);
+        return true;
+    }
+
+    private void decrement(Long productId, int quantity, LocalDateTime now) {
+        if (productRepository.decrementStock(productId, quantity, now) == 0) {
+            if (!productRepository.existsByIdAndActiveTrue(productId)) {
+                throw new EntityNotFoundException("Product not found with id: " + productId);
+            }
+            throw new InsufficientStockException(productId, quantity);
+        }
+    }
+
+    // Itens repetidos do mesmo produto viram uma linha só, em ordem de id
+    private Map<Long, Integer> mergeLines(List<StockReservationItemDto> items) {
+        Map<Long, Integer> lines = new TreeMap<>();
+        for (StockReservationItemDto item : items) {
+            lines.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+        }
+        if (lines.size() > maxReservationItems) {
+            throw new IllegalArgumentException("A reservation may hold at most " + maxReservationItems + " products");
+        }
+        return lines;
+    }
+
+    private StockReservation findReservation(UUID id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Stock reservation not found: " + id));
+    }
+
+    private ReservationNotActiveException notActive(StockReservation reservation) {
+        return new ReservationNotActiveException(
+                "Stock reservation " + reservation.getId() + " is " + reservation.getStatus().name().toLowerCase());
+    }
+
+    private void evict(Collection<Long> productIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+        }
+    }
+}
@@ -1,64 +1,68 @@
 package com.kyron.automation.backend.service.service;
 
+import com.kyron.automation.backend.service.config.CacheConfig;
 import com.kyron.automation.backend.service.dto.TagDto;
+import com.kyron.automation.backend.service.mapper.TagMapper;
 import com.kyron.automation.backend.service.model.Tag;
 import com.kyron.automation.backend.service.repository.TagRepository;
+import com.kyron.automation.backend.service.repository.ProductRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class TagService {
     private final TagRepository tagRepository;
+    private final ProductRepository productRepository;
 
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, ProductRepository productRepository) {
         this.tagRepository = tagRepository;
+        this.productRepository = productRepository;
     }
 
     @Transactional
     public TagDto createTag(TagDto tagDto) {
-        Tag tag = new Tag();
-        BeanUtils.copyProperties(tagDto, tag);
+        Tag tag = TagMapper.toEntity(tagDto);
         Tag savedTag = tagRepository.save(tag);
-        return convertToDto(savedTag);
+        return TagMapper.toDto(savedTag);
     }
 
     public List<TagDto> getAllTags() {
         return tagRepository.findAll().stream()
-                .map(this::convertToDto)
+                .map(TagMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     public TagDto getTag(Long id) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tag not found with id: " + id));
-        return convertToDto(tag);
+        return TagMapper.toDto(tag);
     }
 
+    // O nome aparece dentro de cada produto: nova versão para todos eles e o cache de produtos é descartado
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     @Transactional
     public TagDto updateTag(Long id, TagDto tagDto) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tag not found with id: " + id));
-        BeanUtils.copyProperties(tagDto, tag, "id");
+        TagMapper.updateEntity(tagDto, tag);
+        productRepository.touchByTag(id, LocalDateTime.now());
         Tag updatedTag = tagRepository.save(tag);
-        return convertToDto(updatedTag);
+        return TagMapper.toDto(updatedTag);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     @Transactional
     public void deleteTag(Long id) {
         if (!tagRepository.existsById(id)) {
             throw new EntityNotFoundException("Tag not found with id: " + id);
         }
+        productRepository.touchByTag(id, LocalDateTime.now());
         tagRepository.deleteById(id);
     }
-
-    private TagDto convertToDto(Tag tag) {
-        TagDto dto = new TagDto();
-        BeanUtils.copyProperties(tag, dto);
-        return dto;
-    }
 }
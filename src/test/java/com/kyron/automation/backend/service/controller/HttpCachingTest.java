@@ -0,0 +1,153 @@
+package com.kyron.automation.backend.service.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.kyron.automation.backend.service.dto.ProductRequestDto;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.service.ProductService;
+import com.kyron.automation.backend.service.service.RatingSummaryService;
+import com.kyron.automation.backend.service.service.ReviewService;
+import com.kyron.automation.backend.service.service.StockService;
+
+// Validadores HTTP: 304 enquanto nada mudou e 200 com ETag novo depois de cada tipo de escrita, inclusive
+// a reconstrução dos resumos de notas
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:httpcaching",
+		"kyron.ratings.reconcile-on-startup=false"
+})
+@AutoConfigureMockMvc
+class HttpCachingTest {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private RatingSummaryService ratingSummaryService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void productRevalidatesUntilItChanges() throws Exception {
+		Long id = createProduct("Cached kettle");
+		String etag = etagOf(mockMvc.perform(get("/api/v1/products/{id}", id)));
+
+		mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+
+		stockService.adjustStock(id, 5);
+		String changed = etagOf(mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(jsonPath("$.stockQuantity").value(15)));
+		assertThat(changed).isNotEqualTo(etag);
+	}
+
+	@Test
+	void listingRevalidatesUntilAnItemChanges() throws Exception {
+		Long id = createProduct("Cached teapot");
+		String etag = etagOf(mockMvc.perform(get("/api/v1/products").param("view", "summary").param("size", "100")));
+
+		mockMvc.perform(get("/api/v1/products").param("view", "summary").param("size", "100")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		ProductRequestDto rename = request("Renamed teapot");
+		productService.updateProduct(id, rename);
+		String changed = etagOf(mockMvc.perform(get("/api/v1/products").param("view", "summary").param("size", "100")
+				.header(HttpHeaders.IF_NONE_MATCH, etag)));
+		assertThat(changed).isNotEqualTo(etag);
+	}
+
+	@Test
+	void reviewSummaryRevalidatesUntilAReviewArrives() throws Exception {
+		Long id = createProduct("Cached mug");
+		String etag = etagOf(mockMvc.perform(get("/api/v1/products/{id}/reviews/summary", id)));
+
+		mockMvc.perform(get("/api/v1/products/{id}/reviews/summary", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		reviewService.addReview(id, review(5));
+		etagOf(mockMvc.perform(get("/api/v1/products/{id}/reviews/summary", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(jsonPath("$.averageRating").value(5.0)));
+	}
+
+	@Test
+	void rebuildThatCorrectsARatingInvalidatesOldValidators() throws Exception {
+		Long id = createProduct("Cached bowl");
+		reviewService.addReview(id, review(4));
+		// Resumo fora de sincronia sem passar pela aplicação: a versão do produto não muda
+		jdbc.update("UPDATE product_rating_summary SET average_rating = 1, rating_sum = 1 WHERE product_id = ?", id);
+		String summaryEtag = etagOf(mockMvc.perform(get("/api/v1/products/{id}/reviews/summary", id))
+				.andExpect(jsonPath("$.averageRating").value(1.0)));
+		String productEtag = etagOf(mockMvc.perform(get("/api/v1/products/{id}", id)));
+
+		ratingSummaryService.rebuildAll();
+
+		etagOf(mockMvc.perform(get("/api/v1/products/{id}/reviews/summary", id).header(HttpHeaders.IF_NONE_MATCH, summaryEtag))
+				.andExpect(jsonPath("$.averageRating").value(4.0)));
+		etagOf(mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, productEtag))
+				.andExpect(jsonPath("$.averageRating").value(4.0)));
+	}
+
+	@Test
+	void rebuildWithoutDriftKeepsValidators() throws Exception {
+		Long id = createProduct("Cached plate");
+		reviewService.addReview(id, review(3));
+		String etag = etagOf(mockMvc.perform(get("/api/v1/products/{id}", id)));
+
+		ratingSummaryService.rebuildAll();
+
+		mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+
+	// Exige 200 e devolve o ETag da resposta
+	private static String etagOf(ResultActions response) throws Exception {
+		return response.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private Long createProduct(String name) {
+		return productService.createProduct(request(name)).getId();
+	}
+
+	private static ProductRequestDto request(String name) {
+		ProductRequestDto request = new ProductRequestDto();
+		request.setName(name);
+		request.setPrice(BigDecimal.TEN);
+		request.setStockQuantity(10);
+		return request;
+	}
+
+	private static ReviewDto review(int rating) {
+		ReviewDto review = new ReviewDto();
+		review.setAuthorName("Shopper");
+		review.setComment("Rated " + rating + " stars");
+		review.setRating(rating);
+		return review;
+	}
+}
@@ -0,0 +1,128 @@
+package com.kyron.automation.backend.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.dto.FacetBucketDto;
+import com.kyron.automation.backend.service.dto.FacetedSearchDto;
+import com.kyron.automation.backend.service.dto.ProductRequestDto;
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.service.ProductService;
+import com.kyron.automation.backend.service.service.ReviewService;
+
+// Contagens de facetas sobre um catálogo pequeno: categoria, tag, faixa de preço e nota para uma busca
+// filtrada, e a marcação de contagens aproximadas quando a busca por nome passa de max-candidates
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:facetsearch",
+		"kyron.ratings.reconcile-on-startup=false",
+		"kyron.search.max-candidates=3",
+		"kyron.search.facets.price-bands=50,100,250,500"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductFacetSearchTest {
+	private static final long LIGHTING = 940001;
+	private static final long FURNITURE = 940002;
+	private static final long LED = 940101;
+	private static final long DIMMABLE = 940102;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@BeforeAll
+	void seedCatalog() {
+		jdbc.update("INSERT INTO categories (id, name, active) VALUES (?, ?, true), (?, ?, true)",
+				LIGHTING, "Lighting", FURNITURE, "Furniture");
+		jdbc.update("INSERT INTO tags (id, name) VALUES (?, ?), (?, ?)", LED, "led", DIMMABLE, "dimmable");
+
+		Long desk = create("Desk lamp", "20.00", LIGHTING, Set.of(LED));
+		Long floor = create("Floor lamp", "60.00", LIGHTING, Set.of(LED, DIMMABLE));
+		Long wall = create("Wall lamp", "120.00", FURNITURE, Set.of(DIMMABLE));
+		create("Chandelier lamp", "600.00", FURNITURE, Set.of());
+		create("Oak chair", "80.00", FURNITURE, Set.of());
+		review(desk, 5);
+		review(floor, 3);
+		review(floor, 4);
+		review(wall, 4);
+	}
+
+	@Test
+	void filteredQueryCountsEveryFacet() {
+		// Sem nome: conjunto completo vindo do banco
+		FacetedSearchDto result = productService.searchProductsWithFacets(
+				null, new BigDecimal("50"), null, null, null, null, 0, 10, ProductView.SUMMARY);
+
+		assertThat(result.isTruncated()).isFalse();
+		assertThat(result.getTotalElements()).isEqualTo(4);
+		assertThat(result.getFacets().getCategories())
+				.containsExactly(bucket(FURNITURE, 3), bucket(LIGHTING, 1));
+		assertThat(result.getFacets().getTags())
+				.containsExactlyInAnyOrder(bucket(DIMMABLE, 2), bucket(LED, 1));
+		assertThat(result.getFacets().getPriceRanges()).containsExactly(
+				new FacetBucketDto("50-100", 2), new FacetBucketDto("100-250", 1), new FacetBucketDto("500-*", 1));
+		// Média 3,5 do floor lamp conta como 3; produtos sem review ficam fora
+		assertThat(result.getFacets().getRatings()).containsExactly(
+				new FacetBucketDto("3", 1), new FacetBucketDto("4", 1));
+	}
+
+	@Test
+	void nameQueryWithinTheCandidateCapIsExact() {
+		// Nomes de tags também são indexados: dois acertos, abaixo do limite de três candidatos
+		FacetedSearchDto result = productService.searchProductsWithFacets(
+				"led", null, null, LIGHTING, null, null, 0, 10, ProductView.SUMMARY);
+
+		assertThat(result.isTruncated()).isFalse();
+		assertThat(result.getTotalElements()).isEqualTo(2);
+		assertThat(result.getFacets().getTags()).containsExactly(bucket(LED, 2), bucket(DIMMABLE, 1));
+		assertThat(result.getFacets().getRatings()).containsExactly(
+				new FacetBucketDto("3", 1), new FacetBucketDto("5", 1));
+	}
+
+	@Test
+	void nameQueryPastTheCandidateCapIsFlaggedApproximate() {
+		FacetedSearchDto result = productService.searchProductsWithFacets(
+				"lamp", null, null, null, null, null, 0, 10, ProductView.SUMMARY);
+
+		// Quatro abajures, três candidatos: total e contagens cobrem só os candidatos
+		assertThat(result.isTruncated()).isTrue();
+		assertThat(result.getTotalElements()).isEqualTo(3);
+		assertThat(result.getFacets().getCategories().stream().mapToLong(FacetBucketDto::getCount).sum()).isEqualTo(3);
+	}
+
+	private Long create(String name, String price, Long categoryId, Set<Long> tagIds) {
+		ProductRequestDto request = new ProductRequestDto();
+		request.setName(name);
+		request.setPrice(new BigDecimal(price));
+		request.setStockQuantity(10);
+		request.setCategoryId(categoryId);
+		request.setTagIds(tagIds.isEmpty() ? null : tagIds);
+		return productService.createProduct(request).getId();
+	}
+
+	private void review(Long productId, int rating) {
+		ReviewDto review = new ReviewDto();
+		review.setAuthorName("Shopper");
+		review.setComment("Rated " + rating + " stars");
+		review.setRating(rating);
+		reviewService.addReview(productId, review);
+	}
+
+	private static FacetBucketDto bucket(long id, long count) {
+		return new FacetBucketDto(String.valueOf(id), count);
+	}
+}
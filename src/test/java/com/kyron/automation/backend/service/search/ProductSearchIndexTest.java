@@ -0,0 +1,72 @@
+package com.kyron.automation.backend.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Índice invertido isolado: ranking BM25 por campo, prefixo, fuzzy, remoção e paginação nos limites
+class ProductSearchIndexTest {
+	private ProductSearchIndex index;
+
+	@BeforeEach
+	void seed() {
+		index = new ProductSearchIndex();
+		index.index(document(1, "Apple juice", "Fresh and cold", List.of()));
+		index.index(document(2, "Orange juice", "Better than apple juice", List.of()));
+		index.index(document(3, "Reflector telescope", "For the night sky", List.of("astronomy")));
+		index.index(document(4, "Garden hose", "Green", List.of("apple")));
+	}
+
+	@Test
+	void nameMatchesOutrankTagAndDescriptionMatches() {
+		SearchResult result = index.search("apple", 0, 10);
+
+		assertThat(result.productIds()).containsExactly(1L, 4L, 2L);
+		assertThat(result.totalHits()).isEqualTo(3);
+	}
+
+	@Test
+	void everyQueryTermMustMatch() {
+		assertThat(index.search("apple juice", 0, 10).productIds()).containsExactly(1L, 2L);
+		assertThat(index.search("apple telescope", 0, 10).productIds()).isEmpty();
+	}
+
+	@Test
+	void prefixesAndTyposStillMatch() {
+		assertThat(index.search("tele", 0, 10).productIds()).containsExactly(3L);
+		assertThat(index.search("telescpoe", 0, 10).productIds()).containsExactly(3L);
+		assertThat(index.search("astronmy", 0, 10).productIds()).containsExactly(3L);
+		// Termos curtos não passam pelo fuzzy
+		assertThat(index.search("hise", 0, 10).productIds()).containsExactly(4L);
+		assertThat(index.search("hxe", 0, 10).productIds()).isEmpty();
+	}
+
+	@Test
+	void removedAndReindexedProductsLeaveNoStaleTerms() {
+		index.remove(1);
+		assertThat(index.search("apple", 0, 10).productIds()).containsExactly(4L, 2L);
+
+		index.index(document(3, "Refractor telescope", "For the night sky", List.of()));
+		assertThat(index.search("reflector", 0, 10).productIds()).isEmpty();
+		assertThat(index.search("refractor", 0, 10).productIds()).containsExactly(3L);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void pagesPastTheEndAreEmptyEvenAtTheLargestOffset() {
+		assertThat(index.search("apple", 1, 1).productIds()).containsExactly(4L);
+		SearchResult far = index.search("apple", Integer.MAX_VALUE, 50);
+		assertThat(far.productIds()).isEmpty();
+		assertThat(far.totalHits()).isEqualTo(3);
+		assertThatThrownBy(() -> index.search("apple", -1, 10)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static ProductDocument document(long id, String name, String description, List<String> tags) {
+		return new ProductDocument(id, name, description, tags, List.of(), null, List.of(), BigDecimal.TEN, 0);
+	}
+}
@@ -0,0 +1,71 @@
+package com.kyron.automation.backend.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductRequestDto;
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.service.ProductService;
+
+// Reindexação guiada por eventos: o índice acompanha criação, alteração e desativação depois do commit,
+// e a busca com filtros marca o resultado quando passa de kyron.search.max-candidates
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:searchindexer",
+		"kyron.ratings.reconcile-on-startup=false",
+		"kyron.search.max-candidates=2"
+})
+class ProductSearchIndexerTest {
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductSearchIndex index;
+
+	@Test
+	void indexFollowsCreateUpdateAndDeactivate() {
+		Long id = productService.createProduct(request("Quasar telescope")).getId();
+		assertThat(index.search("quasar", 0, 10).productIds()).containsExactly(id);
+
+		productService.updateProduct(id, request("Nebula telescope"));
+		assertThat(index.search("quasar", 0, 10).productIds()).isEmpty();
+		assertThat(index.search("nebula", 0, 10).productIds()).containsExactly(id);
+
+		productService.deleteProduct(id);
+		assertThat(index.search("nebula", 0, 10).productIds()).isEmpty();
+	}
+
+	@Test
+	void filteredSearchPastTheCandidateCapIsFlaggedAndFarPagesAreEmpty() {
+		for (int i = 0; i < 3; i++) {
+			productService.createProduct(request("Zephyr kite " + i));
+		}
+
+		PageDto<?> capped = productService.searchProducts("zephyr", null, null, null, null, null, 0, 10, ProductView.SUMMARY);
+		assertThat(capped.isTruncated()).isTrue();
+		assertThat(capped.getContent()).hasSize(2);
+
+		// page * size passa de Integer.MAX_VALUE: página vazia, sem estouro
+		PageDto<?> far = productService.searchByName("zephyr", Integer.MAX_VALUE, 50, ProductView.SUMMARY);
+		assertThat(far.getContent()).isEmpty();
+		assertThat(far.getTotalElements()).isEqualTo(3);
+
+		productService.createProduct(request("Solitary lantern"));
+		PageDto<?> single = productService.searchProducts("lantern", null, null, null, null, null, 0, 10, ProductView.SUMMARY);
+		assertThat(single.isTruncated()).isFalse();
+		assertThat(single.getContent()).hasSize(1);
+	}
+
+	private static ProductRequestDto request(String name) {
+		ProductRequestDto request = new ProductRequestDto();
+		request.setName(name);
+		request.setPrice(BigDecimal.TEN);
+		request.setStockQuantity(5);
+		return request;
+	}
+}
@@ -0,0 +1,203 @@
+package com.kyron.automation.backend.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.exception.InsufficientStockException;
+import com.kyron.automation.backend.service.model.StockLease;
+import com.kyron.automation.backend.service.repository.StockLeaseRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Contador de SKUs quentes: sem venda além do estoque sob concorrência, devolução exata no desligamento
+// e, numa queda, saldo preso fora do estoque em vez de devolvido
+@StockContextTest
+class HotStockCounterTest {
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private HotStockCounter hotStockCounter;
+
+	@Autowired
+	private StockLeaseLedger ledger;
+
+	@Autowired
+	private StockLeaseRepository leaseRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private ProductFixture products;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@AfterEach
+	void restartCounter() {
+		if (!hotStockCounter.isRunning()) {
+			hotStockCounter.start();
+		}
+	}
+
+	@Test
+	void concurrentDecrementsNeverOversellAndShutdownReturnsTheRest() throws Exception {
+		long productId = 900001;
+		products.insert(productId, 1000);
+		AtomicInteger sold = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		List<Future<?>> calls = new ArrayList<>();
+		for (int i = 0; i < 1200; i++) {
+			calls.add(pool.submit(() -> {
+				int quantity = 1 + ThreadLocalRandom.current().nextInt(3);
+				try {
+					stockService.adjustStock(productId, -quantity);
+					sold.addAndGet(quantity);
+				} catch (InsufficientStockException ex) {
+					rejected.incrementAndGet();
+				}
+			}));
+		}
+		for (Future<?> call : calls) {
+			call.get();
+		}
+		pool.shutdown();
+
+		assertThat(sold.get()).isLessThanOrEqualTo(1000);
+		assertThat(rejected.get()).isPositive();
+		// Tudo o que ainda estava em memória volta ao produto no desligamento
+		hotStockCounter.stop();
+		assertThat(products.stock(productId)).isEqualTo(1000 - sold.get());
+		StockLease lease = lease(productId);
+		assertThat(lease.getStatus()).isEqualTo(StockLease.Status.CLOSED);
+		assertThat(lease.getConsumed()).isEqualTo(sold.get());
+	}
+
+	@Test
+	void shutdownClosesTheLeaseWithExactCounts() {
+		long productId = 900002;
+		products.insert(productId, 1000);
+		for (int i = 0; i < 310; i++) {
+			stockService.adjustStock(productId, -1);
+		}
+		// Sete blocos de 50 tirados do produto; só os blocos aparecem no banco enquanto a instância vende
+		assertThat(products.stock(productId)).isEqualTo(650);
+
+		hotStockCounter.stop();
+
+		assertThat(products.stock(productId)).isEqualTo(690);
+		StockLease lease = lease(productId);
+		assertThat(lease.getStatus()).isEqualTo(StockLease.Status.CLOSED);
+		assertThat(lease.getLeased()).isEqualTo(350);
+		assertThat(lease.getConsumed()).isEqualTo(310);
+	}
+
+	@Test
+	void crashedInstanceLeaseIsAbandonedWithoutReturningStock() {
+		long productId = 900003;
+		products.insert(productId, 500);
+		for (int i = 0; i < 30; i++) {
+			stockService.adjustStock(productId, -1);
+		}
+		hotStockCounter.flush();
+		// Vendas depois do último flush: numa queda, o banco não fica sabendo delas
+		for (int i = 0; i < 5; i++) {
+			stockService.adjustStock(productId, -1);
+		}
+
+		// A instância "caiu": parou de mandar heartbeat. Outra instância encontra o lease vencido
+		jdbc.update("UPDATE stock_leases SET heartbeat_at = ? WHERE product_id = ?", LocalDateTime.now().minusHours(1), productId);
+		HotStockCounter survivor = new HotStockCounter(ledger, cacheManager, new SimpleMeterRegistry(), new Long[0], 50,
+				Duration.ofMinutes(2));
+		survivor.recoverAbandonedLeases();
+
+		StockLease lease = lease(productId);
+		assertThat(lease.getStatus()).isEqualTo(StockLease.Status.ABANDONED);
+		assertThat(lease.getLeased() - lease.getConsumed()).isEqualTo(20);
+		// As 20 unidades sem conta (5 vendidas + 15 nunca vendidas) ficam fora do estoque: nada é vendido duas vezes
+		assertThat(products.stock(productId)).isEqualTo(450);
+
+		// Se a dona estava viva (pausa longa, rede), o próximo flush reabre o lease com a contagem correta
+		hotStockCounter.flush();
+		lease = lease(productId);
+		assertThat(lease.getStatus()).isEqualTo(StockLease.Status.OPEN);
+		assertThat(lease.getConsumed()).isEqualTo(35);
+	}
+
+	@Test
+	void restartOpensALeaseWithFreshCounts() {
+		long productId = 900004;
+		products.insert(productId, 1000);
+		for (int i = 0; i < 30; i++) {
+			stockService.adjustStock(productId, -1);
+		}
+		hotStockCounter.stop();
+		hotStockCounter.start();
+		for (int i = 0; i < 70; i++) {
+			stockService.adjustStock(productId, -1);
+		}
+		hotStockCounter.flush();
+
+		List<StockLease> leases = leases(productId);
+		assertThat(leases).hasSize(2);
+		assertThat(leases.get(0).getStatus()).isEqualTo(StockLease.Status.CLOSED);
+		assertThat(leases.get(0).getConsumed()).isEqualTo(30);
+		// O segundo lease conta só as vendas depois do restart
+		assertThat(leases.get(1).getStatus()).isEqualTo(StockLease.Status.OPEN);
+		assertThat(leases.get(1).getLeased()).isEqualTo(100);
+		assertThat(leases.get(1).getConsumed()).isEqualTo(70);
+
+		hotStockCounter.stop();
+		assertThat(leases(productId).get(1).getConsumed()).isEqualTo(70);
+		assertThat(products.stock(productId)).isEqualTo(900);
+	}
+
+	@Test
+	void nonPositiveDecrementsNeverReachTheLease() {
+		long productId = 900005;
+		products.insert(productId, 1000);
+		stockService.adjustStock(productId, -1);
+
+		// -Integer.MIN_VALUE continua negativo: a faixa é validada antes de negar
+		assertThatThrownBy(() -> stockService.adjustStock(productId, Integer.MIN_VALUE))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> hotStockCounter.decrement(productId, -5))
+				.isInstanceOf(IllegalArgumentException.class);
+		hotStockCounter.flush();
+
+		assertThat(lease(productId).getConsumed()).isEqualTo(1);
+	}
+
+	private StockLease lease(long productId) {
+		List<StockLease> leases = leases(productId);
+		assertThat(leases).hasSize(1);
+		return leases.get(0);
+	}
+
+	private List<StockLease> leases(long productId) {
+		return leaseRepository.findAll().stream()
+				.filter(lease -> lease.getProductId() == productId)
+				.sorted(Comparator.comparing(StockLease::getId))
+				.toList();
+	}
+}
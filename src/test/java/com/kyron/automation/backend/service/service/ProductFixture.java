@@ -0,0 +1,27 @@
+package com.kyron.automation.backend.service.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Produtos gravados direto na tabela: sem passar pelo serviço, não geram cache, evento nem reindexação.
+// Cada teste usa sua própria faixa de ids para poder dividir o contexto (e o banco) com os demais
+@TestComponent
+class ProductFixture {
+	private final JdbcTemplate jdbc;
+
+	ProductFixture(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	void insert(long id, int stock) {
+		jdbc.update("INSERT INTO products (id, name, price, stock_quantity, created_at, active) VALUES (?, ?, ?, ?, ?, true)",
+				id, "Product " + id, BigDecimal.TEN, stock, LocalDateTime.now());
+	}
+
+	int stock(long productId) {
+		return jdbc.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+	}
+}
@@ -0,0 +1,73 @@
+package com.kyron.automation.backend.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.dto.BulkImportResultDto;
+import com.kyron.automation.backend.service.dto.BulkImportRowResultDto;
+
+// Importação com entrada malformada ou truncada: relatório parcial com a posição da falha, nunca exceção
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:productimport",
+		"kyron.ratings.reconcile-on-startup=false"
+})
+class ProductImportServiceTest {
+	@Autowired
+	private ProductImportService productImportService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void truncatedArrayKeepsTheRowsReadBeforeTheCut() throws Exception {
+		BulkImportResultDto result = importBody("[" + row("Truncated A") + "," + row("Truncated B") + ",");
+
+		assertThat(result.getCreated()).isEqualTo(2);
+		assertThat(result.getFailed()).isEqualTo(1);
+		BulkImportRowResultDto failure = result.getRows().get(2);
+		assertThat(failure.getIndex()).isEqualTo(2);
+		assertThat(failure.getStatus()).isEqualTo(BulkImportRowResultDto.Status.FAILED);
+		assertThat(failure.getError()).startsWith("Malformed JSON at line 1, column ");
+		assertThat(count("Truncated %")).isEqualTo(2);
+	}
+
+	@Test
+	void missingSeparatorIsReportedAtTheFollowingRow() throws Exception {
+		BulkImportResultDto result = importBody("[" + row("Separator A") + "\n" + row("Separator B") + "]");
+
+		assertThat(result.getCreated()).isEqualTo(1);
+		assertThat(result.getFailed()).isEqualTo(1);
+		assertThat(result.getRows().get(1).getIndex()).isEqualTo(1);
+		assertThat(result.getRows().get(1).getError()).startsWith("Malformed JSON at line 2, column ");
+		assertThat(count("Separator %")).isEqualTo(1);
+	}
+
+	@Test
+	void garbageBodyIsReportedAtTheFirstRow() throws Exception {
+		BulkImportResultDto result = importBody("not json");
+
+		assertThat(result.getTotalRows()).isEqualTo(1);
+		assertThat(result.getCreated()).isZero();
+		assertThat(result.getRows().get(0).getIndex()).isZero();
+		assertThat(result.getRows().get(0).getError()).startsWith("Malformed JSON at line 1, column ");
+	}
+
+	private BulkImportResultDto importBody(String body) throws Exception {
+		return productImportService.importProducts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String row(String name) {
+		return "{\"name\":\"" + name + "\",\"price\":10.00,\"stockQuantity\":5}";
+	}
+
+	private int count(String namePattern) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM products WHERE name LIKE ?", Integer.class, namePattern);
+	}
+}
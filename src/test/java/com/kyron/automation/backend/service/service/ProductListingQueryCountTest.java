@@ -0,0 +1,207 @@
+package com.kyron.automation.backend.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kyron.automation.backend.service.dto.PageDto;
+import com.kyron.automation.backend.service.dto.ProductBatchDto;
+import com.kyron.automation.backend.service.dto.ProductFieldsDto;
+import com.kyron.automation.backend.service.dto.ProductResponseDto;
+import com.kyron.automation.backend.service.dto.ProductSummaryDto;
+import com.kyron.automation.backend.service.dto.ProductView;
+import com.kyron.automation.backend.service.model.Category;
+import com.kyron.automation.backend.service.model.Product;
+import com.kyron.automation.backend.service.model.Review;
+import com.kyron.automation.backend.service.model.Tag;
+import com.kyron.automation.backend.service.repository.CategoryRepository;
+import com.kyron.automation.backend.service.repository.ProductRepository;
+import com.kyron.automation.backend.service.repository.ProductSpecifications;
+import com.kyron.automation.backend.service.repository.TagRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Uma página de N produtos deve custar o mesmo número de statements para qualquer N
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.cache.type=none",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+class ProductListingQueryCountTest {
+	private static final int PRODUCTS = 40;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Long categoryId;
+
+	@BeforeEach
+	void seedCatalog() {
+		categoryId = transactionTemplate.execute(status -> {
+			Category category = categoryRepository.save(new Category(null, "Query count " + System.nanoTime(), null, true));
+			Tag first = tagRepository.save(new Tag(null, "qc-a-" + System.nanoTime()));
+			Tag second = tagRepository.save(new Tag(null, "qc-b-" + System.nanoTime()));
+			List<Product> products = new ArrayList<>(PRODUCTS);
+			for (int i = 0; i < PRODUCTS; i++) {
+				Product product = new Product();
+				product.setName("Query count product " + i);
+				product.setPrice(BigDecimal.valueOf(10 + i));
+				product.setStockQuantity(1);
+				product.setCategory(category);
+				product.getTags().add(first);
+				product.getTags().add(second);
+				product.getImageUrls().add("https://img/" + i + "/0.jpg");
+				product.getImageUrls().add("https://img/" + i + "/1.jpg");
+				product.getSpecifications().put("color", "red");
+				product.getSpecifications().put("size", "M");
+				for (int r = 0; r < 2; r++) {
+					product.getReviews().add(new Review(null, "Reviewer", "Review number " + r, 4, LocalDateTime.now(), product));
+				}
+				products.add(product);
+			}
+			productRepository.saveAll(products);
+			return category.getId();
+		});
+	}
+
+	@Test
+	void filteredSearchPageUsesConstantStatements() {
+		long small = statementsFor(() -> search(5, ProductView.FULL));
+		long large = statementsFor(() -> search(30, ProductView.FULL));
+
+		assertThat(search(30, ProductView.FULL).getContent()).hasSize(30)
+				.allSatisfy(item -> {
+					ProductResponseDto product = (ProductResponseDto) item;
+					assertThat(product.getTags()).hasSize(2);
+					assertThat(product.getReviews()).hasSize(2);
+					assertThat(product.getImageUrls()).hasSize(2);
+					assertThat(product.getSpecifications()).hasSize(2);
+				});
+		assertThat(large).isEqualTo(small);
+		// ids + count + produtos (categoria e tags) + reviews + imagens + especificações + notas
+		assertThat(large).isLessThanOrEqualTo(7);
+	}
+
+	@Test
+	void summaryViewUsesConstantStatements() {
+		long small = statementsFor(() -> search(5, ProductView.SUMMARY));
+		long large = statementsFor(() -> search(30, ProductView.SUMMARY));
+
+		assertThat(search(30, ProductView.SUMMARY).getContent()).hasSize(30)
+				.allSatisfy(item -> {
+					ProductSummaryDto summary = (ProductSummaryDto) item;
+					assertThat(summary.getTagNames()).hasSize(2);
+					assertThat(summary.getPrimaryImageUrl()).endsWith("/0.jpg");
+					assertThat(summary.getCategoryName()).startsWith("Query count");
+				});
+		assertThat(large).isEqualTo(small);
+		// ids + count + resumo (categoria, imagem principal e notas) + nomes das tags
+		assertThat(large).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void productListingUsesConstantStatements() {
+		long small = statementsFor(() -> productService.getAllProducts("id", Sort.Direction.DESC, 0, 5, null, ProductView.FULL));
+		long large = statementsFor(() -> productService.getAllProducts("id", Sort.Direction.DESC, 0, 30, null, ProductView.FULL));
+
+		assertThat(large).isEqualTo(small);
+		assertThat(large).isLessThanOrEqualTo(7);
+	}
+
+	@Test
+	void keysetListingUsesConstantStatements() {
+		String cursor = productService.getAllProducts("id", Sort.Direction.DESC, 0, 1, null, ProductView.FULL).getNextCursor();
+
+		long small = statementsFor(() -> productService.getAllProducts(null, Sort.Direction.ASC, 0, 5, cursor, ProductView.FULL));
+		long large = statementsFor(() -> productService.getAllProducts(null, Sort.Direction.ASC, 0, 30, cursor, ProductView.FULL));
+
+		assertThat(large).isEqualTo(small);
+	}
+
+	@Test
+	void categoryListingDoesNotDependOnProductCount() {
+		long small = statementsFor(() -> category(5));
+		long large = statementsFor(() -> category(PRODUCTS));
+
+		assertThat(category(PRODUCTS).getContent()).hasSize(PRODUCTS);
+		assertThat(large).isEqualTo(small);
+		assertThat(large).isLessThanOrEqualTo(7);
+	}
+
+	@Test
+	void scalarFieldsNeverReadCollectionTables() {
+		ProductView view = ProductView.parse(null, "id,name,price,averageRating");
+		long statements = statementsFor(() -> search(30, view));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		assertThat(statistics.getQueries())
+				.noneMatch(query -> query.contains("FROM Review") || query.contains("imageUrls") || query.contains("specifications"));
+		assertThat(statistics.getCollectionFetchCount()).isZero();
+		// ids + count + uma linha por produto, com a nota média
+		assertThat(statements).isLessThanOrEqualTo(3);
+		assertThat(search(30, view).getContent()).hasSize(30)
+				.allSatisfy(item -> assertThat(((ProductFieldsDto) item).getFields())
+						.containsOnlyKeys("id", "name", "price", "averageRating"));
+	}
+
+	@Test
+	void batchReadUsesConstantStatementsInRequestOrder() {
+		List<Long> ids = new ArrayList<>(productRepository.findIds(ProductSpecifications.inCategory(categoryId)));
+		Collections.reverse(ids);
+		long one = statementsFor(() -> productService.getProducts(ids.subList(0, 1), ProductView.FULL));
+		long many = statementsFor(() -> productService.getProducts(ids.subList(0, 30), ProductView.FULL));
+
+		List<Long> requested = new ArrayList<>(ids.subList(0, 30));
+		requested.add(1, -1L);
+		ProductBatchDto batch = productService.getProducts(requested, ProductView.FULL);
+		assertThat(batch.getContent()).extracting(item -> ((ProductResponseDto) item).getId())
+				.containsExactlyElementsOf(ids.subList(0, 30));
+		assertThat(batch.getNotFound()).containsExactly(-1L);
+		assertThat(many).isEqualTo(one);
+		// produtos (categoria e tags) + reviews + imagens + especificações + notas
+		assertThat(many).isLessThanOrEqualTo(5);
+	}
+
+	private PageDto<?> category(int size) {
+		return productService.getProductsByCategory(categoryId, null, Sort.Direction.ASC, 0, size, null, ProductView.FULL);
+	}
+
+	private PageDto<?> search(int size, ProductView view) {
+		return productService.searchProducts(null, null, null, categoryId, null, null, 0, size, view);
+	}
+
+	private long statementsFor(Runnable call) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		call.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,122 @@
+package com.kyron.automation.backend.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.model.ProductRatingSummary;
+
+// Resumo de notas: primeiras reviews concorrentes de um produto e reconstrução a partir da tabela reviews
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:ratingsummary",
+		"kyron.ratings.reconcile-on-startup=false",
+		// Pool pequeno: a primeira nota de um produto não pode pedir uma segunda conexão
+		"spring.datasource.hikari.maximum-pool-size=4",
+		"spring.datasource.hikari.minimum-idle=4",
+		"spring.datasource.hikari.connection-timeout=5000"
+})
+@Import(ProductFixture.class)
+class RatingSummaryServiceTest {
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private RatingSummaryService ratingSummaryService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductFixture products;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void concurrentFirstReviewsAreAllCounted() throws Exception {
+		long productId = 910001;
+		products.insert(productId, 10);
+		int reviews = 16;
+		CountDownLatch go = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(reviews);
+		List<Future<?>> calls = new ArrayList<>();
+		for (int i = 0; i < reviews; i++) {
+			int rating = i % 5 + 1;
+			calls.add(pool.submit(() -> {
+				go.await();
+				return reviewService.addReview(productId, review(rating));
+			}));
+		}
+		go.countDown();
+		// Nenhuma escrita falha com chave duplicada no resumo
+		for (Future<?> call : calls) {
+			call.get();
+		}
+		pool.shutdown();
+
+		ProductRatingSummary summary = ratingSummaryService.getSummary(productId);
+		assertThat(summary.getTotalReviews()).isEqualTo(reviews);
+		assertThat(summary.getRatingSum()).isEqualTo(jdbc.queryForObject(
+				"SELECT SUM(rating) FROM reviews WHERE product_id = ?", Long.class, productId));
+	}
+
+	@Test
+	void burstOfFirstReviewsDoesNotStarveThePool() throws Exception {
+		int productCount = 16;
+		for (int i = 0; i < productCount; i++) {
+			products.insert(910011 + i, 10);
+		}
+		CountDownLatch go = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(productCount);
+		List<Future<?>> calls = new ArrayList<>();
+		for (int i = 0; i < productCount; i++) {
+			long productId = 910011 + i;
+			calls.add(pool.submit(() -> {
+				go.await();
+				return reviewService.addReview(productId, review(5));
+			}));
+		}
+		go.countDown();
+		for (Future<?> call : calls) {
+			call.get();
+		}
+		pool.shutdown();
+
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM product_rating_summary WHERE product_id BETWEEN ? AND ? AND total_reviews = 1",
+				Integer.class, 910011, 910011 + productCount - 1)).isEqualTo(productCount);
+	}
+
+	@Test
+	void rebuildFixesDriftAndClearsCachedProducts() {
+		long productId = 910002;
+		products.insert(productId, 10);
+		reviewService.addReview(productId, review(4));
+		jdbc.update("UPDATE product_rating_summary SET average_rating = 1, rating_sum = 1 WHERE product_id = ?", productId);
+		assertThat(productService.getProduct(productId).getAverageRating()).isEqualTo(1.0);
+
+		ratingSummaryService.rebuildAll();
+
+		assertThat(ratingSummaryService.getSummary(productId).getAverageRating()).isEqualTo(4.0);
+		assertThat(productService.getProduct(productId).getAverageRating()).isEqualTo(4.0);
+	}
+
+	private static ReviewDto review(int rating) {
+		ReviewDto review = new ReviewDto();
+		review.setAuthorName("Reviewer");
+		review.setComment("Review with rating " + rating);
+		review.setRating(rating);
+		return review;
+	}
+}
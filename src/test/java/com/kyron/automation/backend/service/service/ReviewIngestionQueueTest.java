@@ -0,0 +1,176 @@
+package com.kyron.automation.backend.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyron.automation.backend.service.dto.ReviewDto;
+import com.kyron.automation.backend.service.dto.ReviewSubmissionDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Ingestão assíncrona: 202 com trackingId, 429 com a fila cheia, drenagem completa no desligamento e
+// lote com uma linha ruim gravando as demais. O writer espera numa trava para a fila encher de forma determinística
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reviewingestion",
+		"kyron.ratings.reconcile-on-startup=false",
+		"kyron.reviews.ingestion.enabled=true",
+		"kyron.reviews.ingestion.queue-capacity=4",
+		"kyron.reviews.ingestion.batch-size=10"
+})
+@AutoConfigureMockMvc
+@Import(ProductFixture.class)
+class ReviewIngestionQueueTest {
+	@MockitoSpyBean
+	private ReviewBatchWriter batchWriter;
+
+	@Autowired
+	private ReviewIngestionQueue queue;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ProductFixture products;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private volatile CountDownLatch gate;
+
+	@BeforeEach
+	void holdWrites() {
+		gate = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			gate.await(10, TimeUnit.SECONDS);
+			return invocation.callRealMethod();
+		}).when(batchWriter).write(any());
+	}
+
+	@AfterEach
+	void restartQueue() {
+		gate.countDown();
+		if (!queue.isRunning()) {
+			queue.start();
+		}
+	}
+
+	@Test
+	void fullQueueAnswers429AndShutdownWritesEverythingAccepted() throws Exception {
+		long productId = 930001;
+		products.insert(productId, 10);
+		List<String> trackingIds = new ArrayList<>();
+		// A primeira fica presa no writer; as quatro seguintes enchem a fila
+		trackingIds.add(submit(productId, "First reviewer"));
+		awaitQueueEmpty();
+		for (int i = 0; i < 4; i++) {
+			trackingIds.add(submit(productId, "Queued reviewer " + i));
+		}
+
+		mockMvc.perform(post("/api/v1/products/{id}/reviews", productId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(review("Rejected reviewer"))))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"));
+		mockMvc.perform(get("/api/v1/products/{id}/reviews/submissions/{trackingId}", productId, trackingIds.get(4)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("PENDING"));
+
+		gate.countDown();
+		queue.stop();
+
+		assertThat(reviewCount(productId)).isEqualTo(5);
+		for (String trackingId : trackingIds) {
+			mockMvc.perform(get("/api/v1/products/{id}/reviews/submissions/{trackingId}", productId, trackingId))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.status").value("WRITTEN"))
+					.andExpect(jsonPath("$.reviewId").isNumber());
+		}
+	}
+
+	@Test
+	void badRowFailsAloneAndTheRestOfTheBatchIsWritten() throws Exception {
+		long productId = 930002;
+		products.insert(productId, 10);
+		submit(productId, "First reviewer");
+		awaitQueueEmpty();
+		// Sem passar pela validação da API: author_name nulo viola a constraint da tabela
+		String good = queue.submit(productId, review("Good reviewer")).getTrackingId();
+		String bad = queue.submit(productId, review(null)).getTrackingId();
+		String alsoGood = queue.submit(productId, review("Another reviewer")).getTrackingId();
+
+		gate.countDown();
+		queue.stop();
+
+		assertThat(queue.getSubmission(good).getStatus()).isEqualTo(ReviewSubmissionDto.Status.WRITTEN);
+		assertThat(queue.getSubmission(bad).getStatus()).isEqualTo(ReviewSubmissionDto.Status.FAILED);
+		assertThat(queue.getSubmission(alsoGood).getStatus()).isEqualTo(ReviewSubmissionDto.Status.WRITTEN);
+		assertThat(reviewCount(productId)).isEqualTo(3);
+	}
+
+	private String submit(long productId, String author) throws Exception {
+		String body = mockMvc.perform(post("/api/v1/products/{id}/reviews", productId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(review(author))))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andReturn().getResponse().getContentAsString();
+		JsonNode submission = objectMapper.readTree(body);
+		assertThat(submission.get("status").asText()).isEqualTo("PENDING");
+		return submission.get("trackingId").asText();
+	}
+
+	private void awaitQueueEmpty() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (queueDepth() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(queueDepth()).isZero();
+	}
+
+	private double queueDepth() {
+		return meterRegistry.get("kyron.reviews.queue.depth").gauge().value();
+	}
+
+	private static ReviewDto review(String author) {
+		ReviewDto review = new ReviewDto();
+		review.setAuthorName(author);
+		review.setComment("Queued review comment");
+		review.setRating(4);
+		return review;
+	}
+
+	private int reviewCount(long productId) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM reviews WHERE product_id = ?", Integer.class, productId);
+	}
+}
@@ -0,0 +1,25 @@
+package com.kyron.automation.backend.service.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+// Um só contexto para os testes de estoque: 9000xx são SKUs quentes (HotStockCounterTest) e 9200xx
+// vão direto ao banco (StockServiceTest). Flush e expiração só rodam quando o teste pede
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stock",
+		"kyron.ratings.reconcile-on-startup=false",
+		"kyron.stock.hot.product-ids=900001,900002,900003,900004,900005",
+		"kyron.stock.hot.lease-size=50",
+		"kyron.stock.hot.flush-interval=1h",
+		"kyron.stock.reservations.expiry-interval=1h"
+})
+@Import(ProductFixture.class)
+@interface StockContextTest {
+}
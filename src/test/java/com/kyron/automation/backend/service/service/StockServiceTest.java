@@ -0,0 +1,147 @@
+package com.kyron.automation.backend.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kyron.automation.backend.service.dto.ProductRequestDto;
+import com.kyron.automation.backend.service.dto.StockReservationDto;
+import com.kyron.automation.backend.service.dto.StockReservationItemDto;
+import com.kyron.automation.backend.service.dto.StockReservationRequestDto;
+import com.kyron.automation.backend.service.exception.InsufficientStockException;
+import com.kyron.automation.backend.service.exception.ReservationNotActiveException;
+import com.kyron.automation.backend.service.model.StockReservation;
+
+// Baixas condicionais no banco (produtos fora de kyron.stock.hot.product-ids) e reservas: sem venda além
+// do estoque sob concorrência, e a expiração devolve exatamente o que cada reserva segurava
+@StockContextTest
+class StockServiceTest {
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductFixture products;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void concurrentDecrementsAndReservationsNeverOversell() throws Exception {
+		long first = 920001;
+		long second = 920002;
+		products.insert(first, 300);
+		products.insert(second, 300);
+		AtomicInteger soldFirst = new AtomicInteger();
+		AtomicInteger soldSecond = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		List<Future<?>> calls = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			boolean reservation = i % 2 == 0;
+			calls.add(pool.submit(() -> {
+				int quantity = 1 + ThreadLocalRandom.current().nextInt(3);
+				try {
+					if (reservation) {
+						// Os dois produtos em ordens diferentes: a reserva ordena as linhas e não trava em deadlock
+						stockService.reserve(request(second, quantity, first, quantity));
+						soldFirst.addAndGet(quantity);
+						soldSecond.addAndGet(quantity);
+					} else {
+						stockService.adjustStock(first, -quantity);
+						soldFirst.addAndGet(quantity);
+					}
+				} catch (InsufficientStockException ex) {
+					rejected.incrementAndGet();
+				}
+			}));
+		}
+		for (Future<?> call : calls) {
+			call.get();
+		}
+		pool.shutdown();
+
+		assertThat(rejected.get()).isPositive();
+		assertThat(soldFirst.get()).isLessThanOrEqualTo(300);
+		assertThat(soldSecond.get()).isLessThanOrEqualTo(300);
+		assertThat(products.stock(first)).isGreaterThanOrEqualTo(0).isEqualTo(300 - soldFirst.get());
+		assertThat(products.stock(second)).isGreaterThanOrEqualTo(0).isEqualTo(300 - soldSecond.get());
+	}
+
+	@Test
+	void expiredReservationsGiveBackExactlyWhatTheyHeld() {
+		long first = 920003;
+		long second = 920004;
+		products.insert(first, 100);
+		products.insert(second, 100);
+		StockReservationDto expiring = stockService.reserve(request(first, 3, second, 5));
+		StockReservationDto kept = stockService.reserve(request(first, 2, second, 1));
+		assertThat(products.stock(first)).isEqualTo(95);
+		assertThat(products.stock(second)).isEqualTo(94);
+
+		jdbc.update("UPDATE stock_reservations SET expires_at = ? WHERE id = ?", LocalDateTime.now().minusMinutes(1), expiring.getId());
+		assertThat(stockService.expireDue()).isEqualTo(1);
+
+		assertThat(products.stock(first)).isEqualTo(98);
+		assertThat(products.stock(second)).isEqualTo(99);
+		// A reserva expirada não devolve duas vezes, nem por outra passada do job nem por uma liberação
+		assertThat(stockService.expireDue()).isZero();
+		assertThatThrownBy(() -> stockService.release(expiring.getId())).isInstanceOf(ReservationNotActiveException.class);
+		assertThat(products.stock(first)).isEqualTo(98);
+		assertThat(stockService.getReservation(kept.getId()).getStatus()).isEqualTo(StockReservation.Status.ACTIVE);
+	}
+
+	@Test
+	void outOfRangeAdjustmentsAreRejectedWithoutTouchingStock() {
+		long productId = 920005;
+		products.insert(productId, 100);
+
+		assertThatThrownBy(() -> stockService.adjustStock(productId, Integer.MIN_VALUE))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> stockService.adjustStock(productId, Integer.MAX_VALUE))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(products.stock(productId)).isEqualTo(100);
+	}
+
+	@Test
+	void putKeepsStockAndRejectsADifferentQuantity() {
+		long productId = 920006;
+		products.insert(productId, 100);
+		ProductRequestDto update = new ProductRequestDto();
+		update.setName("Renamed " + productId);
+		update.setPrice(BigDecimal.ONE);
+
+		productService.updateProduct(productId, update);
+		update.setStockQuantity(100);
+		productService.updateProduct(productId, update);
+		update.setStockQuantity(500);
+		assertThatThrownBy(() -> productService.updateProduct(productId, update))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(products.stock(productId)).isEqualTo(100);
+		assertThat(jdbc.queryForObject("SELECT name FROM products WHERE id = ?", String.class, productId))
+				.isEqualTo("Renamed " + productId);
+	}
+
+	private static StockReservationRequestDto request(long productId, int quantity, long otherId, int otherQuantity) {
+		StockReservationRequestDto request = new StockReservationRequestDto();
+		request.setItems(List.of(new StockReservationItemDto(productId, quantity), new StockReservationItemDto(otherId, otherQuantity)));
+		return request;
+	}
+}